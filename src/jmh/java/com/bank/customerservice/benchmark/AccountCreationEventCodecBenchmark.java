@@ -0,0 +1,75 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.events.AccountCreationEvent;
+import com.bank.customerservice.events.codec.AccountCreationEventCodec;
+import com.bank.customerservice.events.codec.BinaryAccountCreationEventCodec;
+import com.bank.customerservice.events.codec.JsonAccountCreationEventCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// ns per event for both wire formats. The encode benchmarks also report bytes / events as secondary
+// results - the payload size is fixed, so the ratio is the exact bytes per event.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountCreationEventCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AccountCreationEventCodec json;
+    private AccountCreationEventCodec binary;
+    private AccountCreationEvent event;
+    private byte[] jsonPayload;
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() {
+        json = new JsonAccountCreationEventCodec(objectMapper);
+        binary = new BinaryAccountCreationEventCodec();
+        event = new AccountCreationEvent(1_234_567L);
+        jsonPayload = json.encode(event);
+        binaryPayload = binary.encode(event);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Encoded {
+        public long events;
+        public long bytes;
+
+        byte[] record(byte[] payload) {
+            events++;
+            bytes += payload.length;
+            return payload;
+        }
+    }
+
+    @Benchmark
+    public String legacyWriteValueAsString() throws Exception {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode(Encoded encoded) {
+        return encoded.record(json.encode(event));
+    }
+
+    @Benchmark
+    public byte[] binaryEncode(Encoded encoded) {
+        return encoded.record(binary.encode(event));
+    }
+
+    @Benchmark
+    public AccountCreationEvent jsonDecode() {
+        return json.decode(jsonPayload);
+    }
+
+    @Benchmark
+    public AccountCreationEvent binaryDecode() {
+        return binary.decode(binaryPayload);
+    }
+}
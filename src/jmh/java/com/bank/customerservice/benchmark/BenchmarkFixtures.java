@@ -0,0 +1,134 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.CustomerServiceApplication;
+import com.bank.customerservice.dto.CustomerRegistrationRequest;
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.entity.KycStatus;
+import com.bank.customerservice.repository.CustomerRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Shared test data for the benchmarks - same secret as application.yml
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "bXlfc3VwZXJfc2VjdXJlX3Rlc3Rfa2V5XzEyMzQ1Njc4OTA=";
+
+    private BenchmarkFixtures() {
+    }
+
+    static Customer customer(long customerId, long userId) {
+        return Customer.builder()
+                .customerId(customerId)
+                .userId(userId)
+                .fullName("Customer " + customerId)
+                .phone(String.format("9%09d", customerId))
+                .email("customer" + customerId + "@example.com")
+                .dob(LocalDate.of(1990, 1, 1))
+                .address("12 MG Road, Bengaluru")
+                .pan(pan(customerId))
+                .aadhaar(String.format("%012d", 100_000_000_000L + customerId))
+                .kycStatus(KycStatus.PENDING)
+                .registeredAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .build();
+    }
+
+    static CustomerRegistrationRequest registration(long n) {
+        return CustomerRegistrationRequest.builder()
+                .fullName("Customer " + n)
+                .phone(String.format("9%09d", n))
+                .email("customer" + n + "@example.com")
+                .dob(LocalDate.of(1990, 1, 1))
+                .address("12 MG Road, Bengaluru")
+                .pan(pan(n))
+                .aadhaar(String.format("%012d", 100_000_000_000L + n))
+                .build();
+    }
+
+    // Distinct for every n below 26^5 * 10^4, so registration benchmarks never hit the PAN unique key
+    static String pan(long n) {
+        char[] letters = new char[5];
+        long high = n / 10_000;
+        for (int i = letters.length - 1; i >= 0; i--) {
+            letters[i] = (char) ('A' + high % 26);
+            high /= 26;
+        }
+        return new String(letters) + String.format("%04dF", n % 10_000);
+    }
+
+    // The whole service on a random port over in-memory H2 in Oracle mode - the Flyway scripts are
+    // Oracle PL/SQL, so the schema is generated by Hibernate instead. Later arguments win.
+    static ConfigurableApplicationContext startApplication(String database, String... overrides) {
+        String[] defaults = {
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--customer.change-broadcast.enabled=false",
+                "--logging.level.root=WARN"};
+        return SpringApplication.run(CustomerServiceApplication.class,
+                Stream.concat(Stream.of(defaults), Stream.of(overrides)).toArray(String[]::new));
+    }
+
+    // Inserts `count` customers for users firstUserId.. and returns their generated ids in user order
+    static List<Long> seedCustomers(ConfigurableApplicationContext context, int count, long firstUserId) {
+        List<Customer> seed = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Customer customer = customer(i, firstUserId + i);
+            customer.setCustomerId(null);
+            seed.add(customer);
+        }
+        return context.getBean(CustomerRepository.class).saveAll(seed).stream().map(Customer::getCustomerId).toList();
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port + "/api/customers/";
+    }
+
+    // Hibernate counters; needs hibernate.generate_statistics=true (set by startApplication)
+    static Statistics statistics(ConfigurableApplicationContext context) {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    static String token(long userId, String role) {
+        return Jwts.builder()
+                .setSubject(Long.toString(userId))
+                .claim("role", role)
+                .claim("username", "bench-" + userId)
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000L))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // Stand-in for @Value injection on components created outside Spring
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.uniqueness.BloomFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// mightContain for values that were added (every probe hashes k times) and values that were not
+// (the usual uniqueness check - most stop at the first clear bit). 10M phones at 1% is 95,850,584 bits
+// with 7 hashes, ~11.4 MB. The probe benchmarks report hits / probes as secondary results: 1 for present,
+// the observed false-positive rate over the absent phones for absent.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class BloomFilterBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"10000000"})
+    private int customers;
+
+    @Param({"0.01"})
+    private double falsePositiveRate;
+
+    private BloomFilter filter;
+    private String[] present;
+    private String[] absent;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filter = BloomFilter.create(customers, falsePositiveRate);
+        for (long id = 1; id <= customers; id++) {
+            filter.add(phone(id));
+        }
+        present = new String[QUERIES];
+        absent = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            present[i] = phone(1 + (long) i * (customers / QUERIES));
+            absent[i] = phone(customers + 1L + i);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Probes {
+        public long probes;
+        public long hits;
+
+        boolean record(boolean hit) {
+            probes++;
+            if (hit) {
+                hits++;
+            }
+            return hit;
+        }
+    }
+
+    private static String phone(long id) {
+        return String.format("9%09d", id);
+    }
+
+    private int nextQuery() {
+        return next = (next + 1) & (QUERIES - 1);
+    }
+
+    @Benchmark
+    public boolean present(Probes probes) {
+        return probes.record(filter.mightContain(present[nextQuery()]));
+    }
+
+    @Benchmark
+    public boolean absent(Probes probes) {
+        return probes.record(filter.mightContain(absent[nextQuery()]));
+    }
+
+    @Benchmark
+    public void add() {
+        filter.add(absent[nextQuery()]);
+    }
+}
@@ -0,0 +1,115 @@
+package com.bank.customerservice.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end latency of the hot read endpoints: Tomcat + JWT interceptor + service + JPA.
+// Runs against in-memory H2 (see BenchmarkFixtures.startApplication). Compare runs, not absolute numbers.
+// jdbcStatements / requests in the secondary results is the average per request; cache hits should
+// keep it far below one.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class CustomerControllerBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final long FIRST_USER_ID = 10_000L;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String adminToken;
+    private List<Long> customerIds;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkFixtures.startApplication("bench");
+        customerIds = BenchmarkFixtures.seedCustomers(context, CUSTOMERS, FIRST_USER_ID);
+        baseUrl = BenchmarkFixtures.baseUrl(context);
+        adminToken = "Bearer " + BenchmarkFixtures.token(1L, "ADMIN");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        statistics = BenchmarkFixtures.statistics(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    // Requests are counted per thread. Statistics are application-wide, so only thread 0 reports the
+    // statements and sessions of the iteration - otherwise the summed result would count them per thread.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+        public long requests;
+        public long jdbcStatements;
+        public long sessions;
+
+        private boolean reporter;
+        private long statementsBefore;
+        private long sessionsBefore;
+
+        @Setup(Level.Iteration)
+        public void snapshot(CustomerControllerBenchmark benchmark, ThreadParams thread) {
+            reporter = thread.getThreadIndex() == 0;
+            statementsBefore = benchmark.statistics.getPrepareStatementCount();
+            sessionsBefore = benchmark.statistics.getSessionOpenCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void report(CustomerControllerBenchmark benchmark) {
+            if (reporter) {
+                jdbcStatements = benchmark.statistics.getPrepareStatementCount() - statementsBefore;
+                sessions = benchmark.statistics.getSessionOpenCount() - sessionsBefore;
+            }
+        }
+    }
+
+    @Benchmark
+    public int getById(Calls calls) throws Exception {
+        return get(calls, randomCustomerId().toString());
+    }
+
+    @Benchmark
+    public int getStatus(Calls calls) throws Exception {
+        return get(calls, randomCustomerId() + "/status");
+    }
+
+    @Benchmark
+    public int getCustomerIdByUserId(Calls calls) throws Exception {
+        long userId = FIRST_USER_ID + ThreadLocalRandom.current().nextInt(CUSTOMERS);
+        return get(calls, "user/" + userId + "/customer-id");
+    }
+
+    private Long randomCustomerId() {
+        return customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+    }
+
+    private int get(Calls calls, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", adminToken)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        calls.requests++;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
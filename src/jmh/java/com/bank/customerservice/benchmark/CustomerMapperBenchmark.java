@@ -0,0 +1,44 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.dto.CustomerRegistrationRequest;
+import com.bank.customerservice.dto.CustomerResponse;
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.mapper.CustomerMapper;
+import com.bank.customerservice.mapper.CustomerMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    private final CustomerMapper mapper = new CustomerMapperImpl();
+    private Customer customer;
+    private CustomerRegistrationRequest request;
+
+    @Setup
+    public void setUp() {
+        customer = BenchmarkFixtures.customer(1001L, 42L);
+        request = BenchmarkFixtures.registration(1001L);
+    }
+
+    @Benchmark
+    public CustomerResponse toDto() {
+        return mapper.toDto(customer);
+    }
+
+    @Benchmark
+    public CustomerResponse toDtoWithMessage() {
+        return mapper.toDto(customer, "Customer registered successfully");
+    }
+
+    @Benchmark
+    public Customer toEntity() {
+        return mapper.toEntity(request);
+    }
+}
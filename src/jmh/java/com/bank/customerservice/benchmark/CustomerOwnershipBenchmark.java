@@ -0,0 +1,136 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.repository.CustomerRepository;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// JDBC statements per CUSTOMER-role request with the lookup cache switched off, so every request
+// reaches the database. ownerGetById / ownerGetStatus authorize against the row they load and must
+// stay at one statement - a request that issues more fails the run. legacyCheckThenGet replays the
+// old validateAccess flow (ownership findById, then the fetch) as the two-statement baseline.
+// Single-threaded, with the background readers off, so the Hibernate counter delta around a
+// request belongs to that request.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(1)
+public class CustomerOwnershipBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final long FIRST_USER_ID = 10_000L;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository repository;
+    private HttpClient client;
+    private String baseUrl;
+    private String adminToken;
+    private List<Long> customerIds;
+    private String[] ownerTokens;
+    private Statistics statistics;
+
+    // Reported next to the throughput score; jdbcStatements / requests is statements per request
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+        public long requests;
+        public long jdbcStatements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+            jdbcStatements = 0;
+        }
+
+        void record(long statements, long maxStatements, String request) {
+            if (statements > maxStatements) {
+                throw new IllegalStateException(request + " issued " + statements
+                        + " JDBC statements, expected at most " + maxStatements);
+            }
+            requests++;
+            jdbcStatements += statements;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // Background readers (index and filter builds, outbox polling) would show up in the counter
+        context = BenchmarkFixtures.startApplication("ownership",
+                "--customer.cache.ttl=PT0S",
+                "--customer.search.enabled=false",
+                "--customer.uniqueness.filter.enabled=false",
+                "--customer.outbox.relay.interval-ms=3600000");
+        repository = context.getBean(CustomerRepository.class);
+        customerIds = BenchmarkFixtures.seedCustomers(context, CUSTOMERS, FIRST_USER_ID);
+        ownerTokens = new String[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            ownerTokens[i] = "Bearer " + BenchmarkFixtures.token(FIRST_USER_ID + i, "CUSTOMER");
+        }
+        baseUrl = BenchmarkFixtures.baseUrl(context);
+        adminToken = "Bearer " + BenchmarkFixtures.token(1L, "ADMIN");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        statistics = BenchmarkFixtures.statistics(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int ownerGetById(Calls calls) throws Exception {
+        int i = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+        long before = statistics.getPrepareStatementCount();
+        int size = get(customerIds.get(i).toString(), ownerTokens[i]);
+        calls.record(statistics.getPrepareStatementCount() - before, 1, "GET /{customerId} as owner");
+        return size;
+    }
+
+    @Benchmark
+    public int ownerGetStatus(Calls calls) throws Exception {
+        int i = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+        long before = statistics.getPrepareStatementCount();
+        int size = get(customerIds.get(i) + "/status", ownerTokens[i]);
+        calls.record(statistics.getPrepareStatementCount() - before, 1, "GET /{customerId}/status as owner");
+        return size;
+    }
+
+    @Benchmark
+    public int legacyCheckThenGet(Calls calls) throws Exception {
+        int i = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+        long before = statistics.getPrepareStatementCount();
+        // What validateAccess did before the fetch: load the row just to compare its userId
+        boolean owned = repository.findById(customerIds.get(i))
+                .filter(c -> c.getUserId() == FIRST_USER_ID + i)
+                .isPresent();
+        if (!owned) {
+            throw new IllegalStateException("Seeded customer " + customerIds.get(i) + " is not owned by its user");
+        }
+        int size = get(customerIds.get(i).toString(), adminToken);
+        calls.record(statistics.getPrepareStatementCount() - before, 2, "ownership findById + GET /{customerId}");
+        return size;
+    }
+
+    private int get(String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", token)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,113 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.search.CustomerSearchField;
+import com.bank.customerservice.search.PrefixSearchIndex;
+import com.bank.customerservice.search.SortedPostings;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Prefix/suffix lookups against an index of synthetic customers (sorted base plus a live delta).
+// Building 5M customers takes a few seconds and ~1.5 GB of heap, hence the fork settings.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms3g", "-Xmx3g"})
+public class CustomerSearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "aarav", "vivaan", "aditya", "vihaan", "arjun", "sai", "reyansh", "ayaan", "krishna", "ishaan",
+            "ananya", "diya", "aadhya", "saanvi", "pari", "anika", "navya", "myra", "sara", "kiara",
+            "raghul", "priya", "karthik", "divya", "rahul", "sneha", "vikram", "meera", "arun", "lakshmi"};
+    private static final String[] LAST_NAMES = {
+            "sharma", "verma", "iyer", "reddy", "nair", "menon", "pillai", "rao", "gupta", "singh",
+            "kumar", "patel", "shah", "mehta", "joshi", "kulkarni", "desai", "bose", "das", "ghosh"};
+    private static final int QUERIES = 1024;
+    private static final int DELTA_CUSTOMERS = 10_000;
+    private static final int MAX_CANDIDATES = 80; // limit 20 x over-fetch 4, as in searchCustomers
+
+    @Param({"5000000"})
+    private int customers;
+
+    private PrefixSearchIndex index;
+    private String[] namePrefixes;
+    private String[] emailPrefixes;
+    private String[] phonePrefixes;
+    private String[] panSuffixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        SortedPostings.Builder builder = new SortedPostings.Builder(customers * 6);
+        for (long id = 1; id <= customers; id++) {
+            addCustomer(builder, null, id, random);
+        }
+        index = new PrefixSearchIndex(Integer.MAX_VALUE);
+        index.replaceBase(builder.build());
+        for (long id = customers + 1L; id <= customers + DELTA_CUSTOMERS; id++) {
+            addCustomer(null, index, id, random);
+        }
+
+        namePrefixes = new String[QUERIES];
+        emailPrefixes = new String[QUERIES];
+        phonePrefixes = new String[QUERIES];
+        panSuffixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            namePrefixes[i] = last.substring(0, 3);
+            emailPrefixes[i] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "." + last;
+            phonePrefixes[i] = phone(random.nextLong(1, customers + 1L)).substring(0, 6);
+            panSuffixes[i] = pan(random.nextLong(1, customers + 1L)).substring(6).toLowerCase();
+        }
+    }
+
+    private static void addCustomer(SortedPostings.Builder builder, PrefixSearchIndex live, long id,
+                                    SplittableRandom random) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String fullName = first + " " + last;
+        String email = first + "." + last + id + "@example.com";
+        String aadhaar = String.format("%012d", 100_000_000_000L + id);
+        if (builder != null) {
+            builder.add(id, fullName, phone(id), email, pan(id), aadhaar);
+        } else {
+            live.add(id, fullName, phone(id), email, pan(id), aadhaar);
+        }
+    }
+
+    private static String phone(long id) {
+        return String.format("9%09d", (id * 7_919L) % 1_000_000_000L);
+    }
+
+    private static String pan(long id) {
+        return String.format("ABCDE%04dF", id % 10_000);
+    }
+
+    private int nextQuery() {
+        return next = (next + 1) & (QUERIES - 1);
+    }
+
+    @Benchmark
+    public long[] namePrefix() {
+        return index.search(CustomerSearchField.NAME, namePrefixes[nextQuery()], MAX_CANDIDATES);
+    }
+
+    @Benchmark
+    public long[] emailPrefix() {
+        return index.search(CustomerSearchField.EMAIL, emailPrefixes[nextQuery()], MAX_CANDIDATES);
+    }
+
+    @Benchmark
+    public long[] phonePrefix() {
+        return index.search(CustomerSearchField.PHONE, phonePrefixes[nextQuery()], MAX_CANDIDATES);
+    }
+
+    @Benchmark
+    public long[] panSuffix() {
+        return index.search(CustomerSearchField.PAN, panSuffixes[nextQuery()], MAX_CANDIDATES);
+    }
+}
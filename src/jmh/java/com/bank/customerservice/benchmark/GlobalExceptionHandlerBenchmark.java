@@ -0,0 +1,40 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.exception.BadRequestException;
+import com.bank.customerservice.exception.ConflictException;
+import com.bank.customerservice.exception.GlobalExceptionHandler;
+import com.bank.customerservice.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+// Error response building only - the exceptions are created once so stack capture isn't measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ResourceNotFoundException notFound = new ResourceNotFoundException("Customer not found with id: 42");
+    private final BadRequestException badRequest = new BadRequestException("Malformed NDJSON row");
+    private final ConflictException conflict = new ConflictException("phone", "Customer with this phone already exists");
+
+    @Benchmark
+    public ResponseEntity<?> notFound() {
+        return handler.handleNotFound(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> badRequest() {
+        return handler.handleBadRequest(badRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> conflict() {
+        return handler.handleConflict(conflict);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.security.JwtUtils;
+import com.bank.customerservice.util.AuthenticatedUser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// legacyValidateThenExtract: the old interceptor path (two parses + two HMAC checks)
+// singleParse:               one parse + one HMAC check, no cache involved
+// missVerify:                verify() on a token the cache doesn't hold - what the interceptor pays on a
+//                            miss: parse + HMAC check + SHA-256 cache key + Caffeine put (and eviction)
+// cachedVerify:              verify() on a warm verified-token cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        BenchmarkFixtures.setField(jwtUtils, "jwtSecret", BenchmarkFixtures.JWT_SECRET);
+        BenchmarkFixtures.setField(jwtUtils, "jwtExpirationMs", 3_600_000L);
+        BenchmarkFixtures.setField(jwtUtils, "verifiedCacheMaxSize", 50_000L);
+        jwtUtils.init();
+        token = BenchmarkFixtures.token(42L, "CUSTOMER");
+        jwtUtils.verify(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser legacyValidateThenExtract() {
+        return jwtUtils.validateToken(token) ? jwtUtils.extractUser(token) : null;
+    }
+
+    @Benchmark
+    public AuthenticatedUser singleParse() {
+        return jwtUtils.extractUser(token);
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> missVerify(FreshTokens fresh) {
+        return fresh.jwtUtils.verify(fresh.next());
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> cachedVerify() {
+        return jwtUtils.verify(token);
+    }
+
+    // Cycles through far more distinct tokens than the cache holds, so each one has been evicted by the
+    // time it comes round again; signing them up front keeps token creation out of the measurement
+    @State(Scope.Thread)
+    public static class FreshTokens {
+
+        private static final int TOKENS = 1 << 16;
+        private static final long CACHE_SIZE = 1_024;
+
+        JwtUtils jwtUtils;
+        private final String[] tokens = new String[TOKENS];
+        private int next;
+
+        @Setup
+        public void setUp() {
+            jwtUtils = new JwtUtils();
+            BenchmarkFixtures.setField(jwtUtils, "jwtSecret", BenchmarkFixtures.JWT_SECRET);
+            BenchmarkFixtures.setField(jwtUtils, "jwtExpirationMs", 3_600_000L);
+            BenchmarkFixtures.setField(jwtUtils, "verifiedCacheMaxSize", CACHE_SIZE);
+            jwtUtils.init();
+            for (int i = 0; i < TOKENS; i++) {
+                tokens[i] = BenchmarkFixtures.token(1_000_000L + i, "CUSTOMER");
+            }
+        }
+
+        String next() {
+            String token = tokens[next];
+            next = (next + 1) & (TOKENS - 1);
+            return token;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.bank.customerservice.benchmark;
+
+import com.bank.customerservice.dto.CustomerResponse;
+import com.bank.customerservice.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// CustomerService.register() throughput with logging off (WARN) and fully on: service DEBUG with
+// every request sampled, plus Hibernate SQL statements. Log lines still go through the async
+// appender and the JSON encoder, but stdout is discarded so the run isn't buried in output -
+// the score is what logging costs the registering threads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class RegistrationLoggingBenchmark {
+
+    private static final long FIRST_USER_ID = 1_000_000L;
+
+    @Param({"off", "on"})
+    private String logging;
+
+    private final AtomicLong next = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        context = "on".equals(logging)
+                ? BenchmarkFixtures.startApplication("register-logging",
+                        "--logging.level.com.bank.customerservice=DEBUG",
+                        "--logging.level.org.hibernate.SQL=DEBUG",
+                        "--customer.logging.debug-sample-rate=1.0")
+                : BenchmarkFixtures.startApplication("register-logging");
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public CustomerResponse register() {
+        long n = next.incrementAndGet();
+        return customerService.register(BenchmarkFixtures.registration(n), FIRST_USER_ID + n);
+    }
+}
@@ -0,0 +1,24 @@
+package com.bank.customerservice.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Stand-in for a slow Oracle: every statement Hibernate prepares waits delayMillis on the calling
+// thread first, holding its connection like a real round-trip would. Registered by class name
+// through hibernate.session_factory.statement_inspector, so the delay is a static knob.
+public class SlowStatementInspector implements StatementInspector {
+
+    static volatile long delayMillis;
+
+    @Override
+    public String inspect(String sql) {
+        long delay = delayMillis;
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.customerservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Platform-thread Tomcat (200 workers) against virtual threads when every query takes dbLatencyMs.
+// More clients than workers are in flight, with the cache off and a pool big enough not to be the
+// limit, so the platform pool queues requests while virtual threads park on the slow query.
+// SampleTime reports p99 per mode; Throughput gives requests/ms.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final long FIRST_USER_ID = 10_000L;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"20"})
+    private long dbLatencyMs;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String adminToken;
+    private List<Long> customerIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkFixtures.startApplication("load",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--customer.cache.ttl=PT0S",
+                "--spring.datasource.hikari.maximum-pool-size=500",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + SlowStatementInspector.class.getName());
+        customerIds = BenchmarkFixtures.seedCustomers(context, CUSTOMERS, FIRST_USER_ID);
+        SlowStatementInspector.delayMillis = dbLatencyMs; // after seeding, which would pay it per row
+        baseUrl = BenchmarkFixtures.baseUrl(context);
+        adminToken = "Bearer " + BenchmarkFixtures.token(1L, "ADMIN");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        SlowStatementInspector.delayMillis = 0;
+        context.close();
+    }
+
+    @Benchmark
+    public int getStatus() throws Exception {
+        Long customerId = customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + customerId + "/status"))
+                .header("Authorization", adminToken)
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + customerId + "/status returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,166 @@
+package com.bank.customerservice.cache;
+
+import com.bank.customerservice.dto.CoalescingStatsResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Single-flight loader: concurrent lookups for the same key share one in-flight future.
+// With a non-zero window, distinct keys arriving within it are loaded together by one
+// batch call (flushed early once maxBatchSize keys are waiting).
+public class CoalescingLoader<K, V> {
+
+    private final String name;
+    private final Function<Collection<K>, Map<K, V>> batchLoader;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor flushExecutor;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // Keys waiting for the next batch flush - guarded by this
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder keysLoaded = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final AtomicLong maxObservedBatch = new AtomicLong();
+
+    public CoalescingLoader(String name, Function<Collection<K>, Map<K, V>> batchLoader,
+                            Duration window, int maxBatchSize,
+                            ScheduledExecutorService scheduler, Executor flushExecutor) {
+        this.name = name;
+        this.batchLoader = batchLoader;
+        this.window = window;
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.scheduler = scheduler;
+        this.flushExecutor = flushExecutor;
+    }
+
+    // Returns null when the batch loader has no value for the key
+    public V load(K key) {
+        requests.increment();
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        if (window.isZero()) {
+            // Plain single-flight: the first caller loads on its own thread
+            flush(Map.of(key, future));
+        } else {
+            enqueue(key, future);
+        }
+        return await(future);
+    }
+
+    // Drop the in-flight entry so callers arriving after a write start a fresh load
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private void enqueue(K key, CompletableFuture<V> future) {
+        Map<K, CompletableFuture<V>> full = null;
+        synchronized (this) {
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flushPending, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            flush(full); // The caller that filled the batch runs it
+        }
+    }
+
+    private void flushPending() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            scheduledFlush = null;
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            flushExecutor.execute(() -> flush(batch));
+        }
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void flush(Map<K, CompletableFuture<V>> batch) {
+        batches.increment();
+        keysLoaded.add(batch.size());
+        maxObservedBatch.accumulateAndGet(batch.size(), Math::max);
+        try {
+            Map<K, V> values = batchLoader.apply(batch.keySet());
+            batch.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            // Only our own futures - forget() may already have let a newer load take the key
+            batch.forEach((key, future) -> inFlight.remove(key, future));
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Reads the same adders as stats(); coalesce ratio = coalesced / requests, batch size = keys / batches
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("customer.lookup.requests", requests, LongAdder::sum)
+                .tag("loader", name).register(registry);
+        FunctionCounter.builder("customer.lookup.coalesced", coalesced, LongAdder::sum)
+                .tag("loader", name).register(registry);
+        FunctionCounter.builder("customer.lookup.batches", batches, LongAdder::sum)
+                .tag("loader", name).register(registry);
+        FunctionCounter.builder("customer.lookup.keys.loaded", keysLoaded, LongAdder::sum)
+                .tag("loader", name).register(registry);
+        Gauge.builder("customer.lookup.inflight", inFlight, Map::size)
+                .tag("loader", name).register(registry);
+    }
+
+    public CoalescingStatsResponse stats() {
+        long requestCount = requests.sum();
+        long batchCount = batches.sum();
+        long loaded = keysLoaded.sum();
+        return CoalescingStatsResponse.builder()
+                .name(name)
+                .requests(requestCount)
+                .coalesced(coalesced.sum())
+                .coalesceRatio(requestCount == 0 ? 0.0 : (double) coalesced.sum() / requestCount)
+                .batches(batchCount)
+                .keysLoaded(loaded)
+                .averageBatchSize(batchCount == 0 ? 0.0 : (double) loaded / batchCount)
+                .maxBatchSize(maxObservedBatch.get())
+                .inFlight(inFlight.size())
+                .build();
+    }
+}
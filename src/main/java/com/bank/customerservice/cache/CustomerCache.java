@@ -0,0 +1,144 @@
+package com.bank.customerservice.cache;
+
+import com.bank.customerservice.dto.CacheStatsResponse;
+import com.bank.customerservice.dto.CustomerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded, TTL-evicted cache of customer snapshots keyed by customerId,
+// with a secondary userId -> customerId index.
+// Every eviction stamps the key from a write sequence. A loader takes writeStamp() before it reads and
+// passes it to put(), which skips the entry if the key was written since - a row read before a commit
+// must not land in the cache after that commit's eviction.
+@Slf4j
+@Component
+public class CustomerCache implements MeterBinder {
+
+    private final Cache<Long, CustomerCacheEntry> byCustomerId;
+    private final Cache<Long, Long> customerIdByUserId;
+
+    // Only has to outlive the longest load that could have read the row before the write
+    private static final Duration WRITE_STAMP_RETENTION = Duration.ofMinutes(1);
+
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final Cache<Long, Long> writeStamps = Caffeine.newBuilder()
+            .expireAfterWrite(WRITE_STAMP_RETENTION)
+            .build();
+
+    public CustomerCache(@Value("${customer.cache.max-size:100000}") long maxSize,
+                         @Value("${customer.cache.ttl:PT5M}") Duration ttl) {
+        this.byCustomerId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // userId -> customerId never changes once registered, so the index can live longer than the rows
+        this.customerIdByUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl.multipliedBy(2))
+                .recordStats()
+                .build();
+        log.info("Customer cache initialised with maxSize={} ttl={}", maxSize, ttl);
+    }
+
+    public CustomerCacheEntry get(Long customerId) {
+        return byCustomerId.getIfPresent(customerId);
+    }
+
+    public Long getCustomerIdByUserId(Long userId) {
+        return customerIdByUserId.getIfPresent(userId);
+    }
+
+    // Take before reading the rows that will be passed to put()
+    public long writeStamp() {
+        return writeSequence.get();
+    }
+
+    // Returns the entry either way; it is only cached if the key wasn't written after readStamp
+    // and the cache doesn't already hold a newer version of the row.
+    public CustomerCacheEntry put(Long userId, CustomerResponse response, long readStamp) {
+        CustomerCacheEntry entry = new CustomerCacheEntry(userId, response);
+        Long customerId = response.getCustomerId();
+        // Runs under the map's lock for the key, so an evict() that stamps after this check
+        // waits for it and then removes the entry
+        byCustomerId.asMap().compute(customerId, (id, current) -> {
+            Long written = writeStamps.getIfPresent(id);
+            if (written != null && written > readStamp) {
+                return current;
+            }
+            if (current != null && isNewer(current.response(), response)) {
+                return current;
+            }
+            return entry;
+        });
+        customerIdByUserId.put(userId, customerId);
+        return entry;
+    }
+
+    private static boolean isNewer(CustomerResponse current, CustomerResponse loaded) {
+        return current.getVersion() != null && loaded.getVersion() != null
+                && current.getVersion() > loaded.getVersion();
+    }
+
+    // Index-only entry for lookups that resolved the id without loading the row
+    public void putCustomerId(Long userId, Long customerId) {
+        customerIdByUserId.put(userId, customerId);
+    }
+
+    public void evict(Long customerId) {
+        writeStamps.put(customerId, writeSequence.incrementAndGet());
+        byCustomerId.invalidate(customerId);
+    }
+
+    // Evict now and again once the transaction completes, so a reader that repopulated
+    // the entry from the pre-commit row doesn't keep serving stale data.
+    public void evictAfterCommit(Long customerId) {
+        evict(customerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(customerId);
+                }
+            });
+        }
+    }
+
+    // cache.gets / cache.evictions / cache.size, tagged cache=<name>
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byCustomerId, "customersById");
+        CaffeineCacheMetrics.monitor(registry, customerIdByUserId, "customerIdByUserId");
+    }
+
+    public List<CacheStatsResponse> stats() {
+        return List.of(
+                toStats("customersById", byCustomerId),
+                toStats("customerIdByUserId", customerIdByUserId));
+    }
+
+    private static CacheStatsResponse toStats(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
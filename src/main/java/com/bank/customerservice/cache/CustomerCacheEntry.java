@@ -0,0 +1,8 @@
+package com.bank.customerservice.cache;
+
+import com.bank.customerservice.dto.CustomerResponse;
+
+// Cached snapshot of a customer. The owning userId is kept next to the response
+// so ownership checks can be answered without going back to the database.
+public record CustomerCacheEntry(Long userId, CustomerResponse response) {
+}
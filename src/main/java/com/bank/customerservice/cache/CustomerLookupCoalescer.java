@@ -0,0 +1,116 @@
+package com.bank.customerservice.cache;
+
+import com.bank.customerservice.datasource.ReadYourWrites;
+import com.bank.customerservice.dto.CoalescingStatsResponse;
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.mapper.CustomerMapper;
+import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.repository.UserCustomerIdView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+// Sits between cache misses and the repository: identical concurrent lookups share one
+// query, and with customer.lookup.batch-window > 0 distinct ids are grouped into one IN query.
+// Loaded rows are written to the CustomerCache.
+@Slf4j
+@Component
+public class CustomerLookupCoalescer implements MeterBinder {
+
+    // Oracle rejects IN lists longer than 1000 elements
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final CustomerCache customerCache;
+    private final ReadYourWrites readYourWrites;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService flushExecutor;
+    private final CoalescingLoader<Long, CustomerCacheEntry> byCustomerId;
+    private final CoalescingLoader<Long, Long> customerIdByUserId;
+
+    public CustomerLookupCoalescer(CustomerRepository customerRepository,
+                                   CustomerMapper customerMapper,
+                                   CustomerCache customerCache,
+                                   ReadYourWrites readYourWrites,
+                                   @Value("${customer.lookup.batch-window:PT0S}") Duration batchWindow,
+                                   @Value("${customer.lookup.max-batch-size:100}") int maxBatchSize) {
+        this.customerRepository = customerRepository;
+        this.customerMapper = customerMapper;
+        this.customerCache = customerCache;
+        this.readYourWrites = readYourWrites;
+
+        int batchSize = Math.min(Math.max(maxBatchSize, 1), MAX_BATCH_SIZE);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("customer-lookup-batcher").daemon().factory());
+        // Flushes block on JDBC - keep them off the timer thread
+        this.flushExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("customer-lookup-flush-", 0).factory());
+
+        this.byCustomerId = new CoalescingLoader<>("customersById", this::loadCustomers,
+                batchWindow, batchSize, scheduler, flushExecutor);
+        this.customerIdByUserId = new CoalescingLoader<>("customerIdByUserId", this::loadCustomerIds,
+                batchWindow, batchSize, scheduler, flushExecutor);
+        log.info("Customer lookup coalescing enabled, batchWindow={} maxBatchSize={}", batchWindow, batchSize);
+    }
+
+    public Optional<CustomerCacheEntry> load(Long customerId) {
+        return Optional.ofNullable(byCustomerId.load(customerId));
+    }
+
+    public Optional<Long> loadCustomerId(Long userId) {
+        return Optional.ofNullable(customerIdByUserId.load(userId));
+    }
+
+    public void forget(Long customerId) {
+        byCustomerId.forget(customerId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        byCustomerId.bindTo(registry);
+        customerIdByUserId.bindTo(registry);
+    }
+
+    public List<CoalescingStatsResponse> stats() {
+        return List.of(byCustomerId.stats(), customerIdByUserId.stats());
+    }
+
+    private Map<Long, CustomerCacheEntry> loadCustomers(Collection<Long> customerIds) {
+        Map<Long, CustomerCacheEntry> entries = new HashMap<>();
+        long readStamp = customerCache.writeStamp();
+        // Flushes may run on a batcher thread, so recently written ids are checked here rather than per request
+        for (Customer customer : readYourWrites.readCustomers(customerIds,
+                () -> customerRepository.findAllByCustomerIdIn(customerIds))) {
+            entries.put(customer.getCustomerId(),
+                    customerCache.put(customer.getUserId(), customerMapper.toDto(customer), readStamp));
+        }
+        return entries;
+    }
+
+    private Map<Long, Long> loadCustomerIds(Collection<Long> userIds) {
+        Map<Long, Long> customerIds = new HashMap<>();
+        for (UserCustomerIdView view : readYourWrites.readUsers(userIds,
+                () -> customerRepository.findCustomerIdsByUserIds(userIds))) {
+            customerIds.put(view.userId(), view.customerId());
+            customerCache.putCustomerId(view.userId(), view.customerId());
+        }
+        return customerIds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flushExecutor.shutdown();
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.customerservice.config;
+
+import com.bank.customerservice.kafka.CustomerChangeBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Consumer for the customer-changes topic. Every instance must see every event, so each one joins
+// its own consumer group (named after its instance id) and starts at the log end - nothing published
+// before it started can be in its freshly built cache. Offsets don't matter across restarts, so they
+// are auto-committed; the broker expires the abandoned groups after offsets.retention.minutes.
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "customer.change-broadcast.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerChangeConsumerConfig {
+
+    private final KafkaProperties kafkaProperties;
+    private final CustomerChangeBroadcaster broadcaster;
+
+    @Value("${customer.change-broadcast.group-id-prefix:customer-service-changes-}")
+    private String groupIdPrefix;
+
+    @Bean
+    public ConsumerFactory<String, byte[]> customerChangeConsumerFactory() {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildConsumerProperties(null));
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupIdPrefix + broadcaster.instanceId());
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> customerChangeListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(customerChangeConsumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setMicrometerEnabled(true);
+        log.info("Customer change broadcast enabled, groupId={}", groupIdPrefix + broadcaster.instanceId());
+        return factory;
+    }
+}
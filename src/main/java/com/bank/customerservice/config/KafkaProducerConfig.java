@@ -1,30 +1,126 @@
 package com.bank.customerservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
 
+@Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(KafkaProducerProperties.class)
 public class KafkaProducerConfig {
 
+    private static final String EXACTLY_ONCE_TX_PREFIX = "customer-service-tx-";
+
+    private final KafkaProperties kafkaProperties;
+    private final KafkaProducerProperties producerProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        var config = new HashMap<String, Object>();
-        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+    public ProducerFactory<String, byte[]> producerFactory() {
+        // spring.kafka.* (bootstrap-servers, ssl, spring.kafka.producer.*) first, then the preset on top
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildProducerProperties(null));
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        return new DefaultKafkaProducerFactory<>(config);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.putAll(presetConfig(producerProperties.getPreset()));
+        applyOverrides(config);
+
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(config);
+        String txPrefix = transactionIdPrefix();
+        if (txPrefix != null) {
+            factory.setTransactionIdPrefix(txPrefix);
+        }
+        // Kafka client metrics (kafka.producer.*) - Boot only wires this into its own factory
+        meterRegistry.ifAvailable(registry -> factory.addListener(new MicrometerProducerListener<>(registry)));
+        log.info("Kafka producer preset {} -> linger.ms={} batch.size={} compression={} acks={} idempotence={} transactional={}",
+                producerProperties.getPreset(),
+                config.get(ProducerConfig.LINGER_MS_CONFIG),
+                config.get(ProducerConfig.BATCH_SIZE_CONFIG),
+                config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG),
+                config.get(ProducerConfig.ACKS_CONFIG),
+                config.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG),
+                txPrefix != null);
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    private static Map<String, Object> presetConfig(KafkaProducerProperties.Preset preset) {
+        Map<String, Object> config = new HashMap<>();
+        switch (preset) {
+            case LOW_LATENCY -> {
+                config.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+                config.put(ProducerConfig.BATCH_SIZE_CONFIG, 16_384);
+                config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none");
+                config.put(ProducerConfig.ACKS_CONFIG, "1");
+                config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+            }
+            case HIGH_THROUGHPUT -> {
+                config.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+                config.put(ProducerConfig.BATCH_SIZE_CONFIG, 131_072);
+                config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+                config.put(ProducerConfig.ACKS_CONFIG, "all");
+                config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            }
+            case EXACTLY_ONCE -> {
+                config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+                config.put(ProducerConfig.BATCH_SIZE_CONFIG, 65_536);
+                config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+                config.put(ProducerConfig.ACKS_CONFIG, "all");
+                config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+                config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+            }
+        }
+        return config;
+    }
+
+    private void applyOverrides(Map<String, Object> config) {
+        if (producerProperties.getLingerMs() != null) {
+            config.put(ProducerConfig.LINGER_MS_CONFIG, producerProperties.getLingerMs());
+        }
+        if (producerProperties.getBatchSize() != null) {
+            config.put(ProducerConfig.BATCH_SIZE_CONFIG, producerProperties.getBatchSize());
+        }
+        if (producerProperties.getCompressionType() != null) {
+            config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, producerProperties.getCompressionType());
+        }
+        if (producerProperties.getAcks() != null) {
+            config.put(ProducerConfig.ACKS_CONFIG, producerProperties.getAcks());
+        }
+        if (producerProperties.getIdempotence() != null) {
+            config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, producerProperties.getIdempotence());
+        }
+        if (producerProperties.getMaxInFlightRequestsPerConnection() != null) {
+            config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+                    producerProperties.getMaxInFlightRequestsPerConnection());
+        }
+        config.putAll(producerProperties.getProperties());
+    }
+
+    private String transactionIdPrefix() {
+        if (producerProperties.getTransactionIdPrefix() != null) {
+            return producerProperties.getTransactionIdPrefix();
+        }
+        return producerProperties.getPreset() == KafkaProducerProperties.Preset.EXACTLY_ONCE
+                ? EXACTLY_ONCE_TX_PREFIX
+                : null;
+    }
 }
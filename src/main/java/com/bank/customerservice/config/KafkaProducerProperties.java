@@ -0,0 +1,33 @@
+package com.bank.customerservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// customer.kafka.producer.* - pick a preset, then override individual settings if needed
+@Data
+@ConfigurationProperties(prefix = "customer.kafka.producer")
+public class KafkaProducerProperties {
+
+    public enum Preset {
+        LOW_LATENCY,     // no lingering, small batches, leader-only acks
+        HIGH_THROUGHPUT, // linger + large compressed batches, idempotent
+        EXACTLY_ONCE     // idempotent + transactional sends
+    }
+
+    private Preset preset = Preset.HIGH_THROUGHPUT;
+
+    // Optional overrides applied on top of the preset
+    private Integer lingerMs;
+    private Integer batchSize;
+    private String compressionType;
+    private String acks;
+    private Boolean idempotence;
+    private Integer maxInFlightRequestsPerConnection;
+    private String transactionIdPrefix;
+
+    // Any other raw producer property, e.g. buffer.memory
+    private Map<String, String> properties = new HashMap<>();
+}
@@ -0,0 +1,82 @@
+package com.bank.customerservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Batch consumer for the kyc-verdict topic - opt-in alternative to the internal PUT kyc-status endpoint
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "customer.kyc-verdict.enabled", havingValue = "true")
+public class KycVerdictConsumerConfig {
+
+    private final KafkaProperties kafkaProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${customer.kyc-verdict.group-id:customer-service-kyc-verdict}")
+    private String groupId;
+
+    @Value("${customer.kyc-verdict.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${customer.kyc-verdict.concurrency:3}")
+    private int concurrency;
+
+    @Value("${customer.kyc-verdict.retry-interval:PT5S}")
+    private Duration retryInterval;
+
+    @Bean
+    public ConsumerFactory<String, byte[]> kycVerdictConsumerFactory() {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildConsumerProperties(null));
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        // Offsets are committed by the container after the DB transaction, never in the background
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+
+        DefaultKafkaConsumerFactory<String, byte[]> factory = new DefaultKafkaConsumerFactory<>(config);
+        // kafka.consumer.* client metrics, including records-lag-max per partition
+        meterRegistry.ifAvailable(registry -> factory.addListener(new MicrometerConsumerListener<>(registry)));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kycVerdictListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(kycVerdictConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().setMicrometerEnabled(true);
+        // A failed apply (DB down, lock timeout) re-seeks and retries the whole batch until it commits.
+        // Verdicts must not be skipped, and malformed records are already dropped by the listener.
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                new FixedBackOff(retryInterval.toMillis(), FixedBackOff.UNLIMITED_ATTEMPTS)));
+        log.info("KYC verdict consumer enabled, groupId={} maxPollRecords={} concurrency={}",
+                groupId, maxPollRecords, concurrency);
+        return factory;
+    }
+}
@@ -0,0 +1,95 @@
+package com.bank.customerservice.config;
+
+import com.bank.customerservice.datasource.ReadYourWrites;
+import com.bank.customerservice.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Primary/replica routing - opt-in; without it Boot's single spring.datasource pool is used as before.
+// LazyConnectionDataSourceProxy defers the physical connection until the first statement, by which
+// point @Transactional(readOnly = true) has been applied, and then takes it from the replica side.
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(name = "customer.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    // Open-in-view keeps the request's first physical connection across transactions, so a write
+    // after a read-only transaction in the same request would be sent to the replica
+    @Value("${spring.jpa.open-in-view:true}")
+    private boolean openInView;
+
+    // Writes, read-write transactions and Flyway; spring.datasource.hikari.* still applies
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                               DataSourceProperties dataSourceProperties,
+                                               ReadReplicaProperties properties,
+                                               ReadYourWrites readYourWrites,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        if (openInView) {
+            throw new IllegalStateException("customer.datasource.routing.enabled=true requires spring.jpa.open-in-view=false");
+        }
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException("customer.datasource.routing.enabled=true needs at least one replica");
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReadReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(replica.getUrl());
+            config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            config.setUsername(StringUtils.hasText(replica.getUsername())
+                    ? replica.getUsername() : dataSourceProperties.determineUsername());
+            config.setPassword(replica.getPassword() != null
+                    ? replica.getPassword() : dataSourceProperties.determinePassword());
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            config.setReadOnly(true);
+            config.setConnectionTimeout(properties.getReplicaConnectionTimeout().toMillis());
+            // A replica that is down at startup must not stop the service - it joins once the health check passes
+            config.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.add(new HikariDataSource(config));
+        }
+        log.info("Read replica routing enabled: {} replica(s), selection={}, readYourWritesWindow={}",
+                pools.size(), properties.getSelection(), properties.getReadYourWritesWindow());
+        return new ReplicaDataSource(primaryDataSource, pools, properties.getSelection(), readYourWrites);
+    }
+
+    // The DataSource JPA, JdbcTemplate and Flyway see
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaDataSource);
+        return proxy;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bank.customerservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// customer.datasource.routing.* - read-only transactions go to replicas, everything else to spring.datasource
+@Data
+@ConfigurationProperties(prefix = "customer.datasource.routing")
+public class ReadReplicaProperties {
+
+    public enum Selection {
+        ROUND_ROBIN,  // rotate over healthy replicas
+        LEAST_LOADED  // fewest active connections
+    }
+
+    private boolean enabled;
+    private Selection selection = Selection.ROUND_ROBIN;
+
+    // After a write, the writer (and anyone reading that customer) reads from the primary for this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Fail over quickly instead of waiting Hikari's default 30s for a replica that is down
+    private Duration replicaConnectionTimeout = Duration.ofSeconds(2);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username; // defaults to spring.datasource.username
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,150 @@
+package com.bank.customerservice.config;
+
+import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.shard.CustomerKeyDirectory;
+import com.bank.customerservice.shard.ShardIds;
+import com.bank.customerservice.shard.ShardRouter;
+import com.bank.customerservice.shard.ShardRoutingDataSource;
+import com.bank.customerservice.shard.ShardedDataSources;
+import com.bank.customerservice.shard.ShardingRepositoryInterceptor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Sharded CUSTOMERS - opt-in; without it Boot's single spring.datasource pool is used as before.
+// JPA sees one DataSource that picks the shard per transaction (ShardContext), and the
+// CustomerRepository proxy gets an outermost interceptor that decides the shard for each call.
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "customer.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    // Same reason as for replica routing: a connection held across the request's transactions
+    // would carry the first shard into the next transaction
+    @Value("${spring.jpa.open-in-view:true}")
+    private boolean openInView;
+
+    @Value("${customer.datasource.routing.enabled:false}")
+    private boolean replicaRouting;
+
+    @Bean(destroyMethod = "close")
+    public ShardedDataSources shardedDataSources(DataSourceProperties dataSourceProperties,
+                                                 ShardingProperties properties,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        if (openInView) {
+            throw new IllegalStateException("customer.sharding.enabled=true requires spring.jpa.open-in-view=false");
+        }
+        if (replicaRouting) {
+            throw new IllegalStateException("customer.sharding and customer.datasource.routing cannot be combined yet");
+        }
+        int count = properties.getShards().size();
+        if (count == 0 || count > ShardIds.MAX_SHARDS) {
+            throw new IllegalStateException("customer.sharding.shards needs 1.." + ShardIds.MAX_SHARDS + " entries, got " + count);
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("shard-" + i);
+            config.setJdbcUrl(shard.getUrl());
+            config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            config.setUsername(StringUtils.hasText(shard.getUsername())
+                    ? shard.getUsername() : dataSourceProperties.determineUsername());
+            config.setPassword(shard.getPassword() != null
+                    ? shard.getPassword() : dataSourceProperties.determinePassword());
+            config.setMaximumPoolSize(shard.getMaximumPoolSize());
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.add(new HikariDataSource(config));
+        }
+        log.info("Customer sharding enabled: {} shard(s)", count);
+        return new ShardedDataSources(pools);
+    }
+
+    // The DataSource JPA, JdbcTemplate and Flyway see. Lazy, so the shard is read when the first
+    // statement runs rather than when the transaction begins.
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardedDataSources shardedDataSources) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardedDataSources.all()));
+    }
+
+    // Boot's Flyway only reaches shard 0 through the routing DataSource - run the same migrations on every shard
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardedDataSources shardedDataSources) {
+        return flyway -> {
+            for (int shard = 0; shard < shardedDataSources.count(); shard++) {
+                HikariDataSource pool = shardedDataSources.get(shard);
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(pool)
+                        .load()
+                        .migrate();
+                placeSequence(pool, shard, "CUSTOMERS_SEQ", "CUSTOMERS");
+                placeSequence(pool, shard, "CUSTOMER_OUTBOX_SEQ", "CUSTOMER_OUTBOX");
+            }
+        };
+    }
+
+    // Each shard's sequences must stay inside the shard's own block (see ShardIds). A fresh shard's
+    // sequence starts at 50 like shard 0's, so it is moved up once while its table is still empty.
+    private static void placeSequence(DataSource dataSource, int shard, String sequence, String table) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long next = jdbc.queryForObject("SELECT " + sequence + ".NEXTVAL FROM DUAL", Long.class);
+        long start = ShardIds.sequenceBlockStart(shard);
+        if (next >= ShardIds.sequenceBlockEnd(shard)) {
+            throw new IllegalStateException(sequence + " on shard " + shard + " has run past its block (" + next + ")");
+        }
+        if (next >= start) {
+            return;
+        }
+        Long rows = jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        if (rows != null && rows > 0) {
+            throw new IllegalStateException(sequence + " on shard " + shard + " is below the shard's block ("
+                    + next + " < " + start + ") but " + table + " already has rows - move it by hand");
+        }
+        jdbc.execute("DROP SEQUENCE " + sequence);
+        jdbc.execute("CREATE SEQUENCE " + sequence + " START WITH " + (start + 50) + " INCREMENT BY 50");
+        log.info("Moved {} on shard {} to its block starting at {}", sequence, shard, start);
+    }
+
+    // Static: post-processors are created before the rest of this configuration
+    @Bean
+    public static BeanPostProcessor shardingRepositoryPostProcessor(ObjectProvider<ShardRouter> shardRouter,
+                                                                    ObjectProvider<CustomerKeyDirectory> keyDirectory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof JpaRepositoryFactoryBean<?, ?, ?> factoryBean
+                        && CustomerRepository.class.equals(factoryBean.getObjectType())) {
+                    ShardingRepositoryInterceptor interceptor = new ShardingRepositoryInterceptor(shardRouter, keyDirectory);
+                    interceptor.checkRoutes(CustomerRepository.class);
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+}
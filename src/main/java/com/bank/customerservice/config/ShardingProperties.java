@@ -0,0 +1,26 @@
+package com.bank.customerservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// customer.sharding.* - CUSTOMERS split over N databases by hash(userId); the list order is the shard number
+@Data
+@ConfigurationProperties(prefix = "customer.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    // Never reorder or remove entries: shard numbers are encoded in every customerId
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username; // defaults to spring.datasource.username
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -22,6 +22,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .addPathPatterns("/api/customers/{customerId}/**")
                 .addPathPatterns("/api/customers/admin/**")
                 .addPathPatterns("/api/customers/user/{userId}/customer-id") // NEW
+                .addPathPatterns("/api/customers/batch-get")
+                .addPathPatterns("/api/customers/user-ids/resolve")
+                .addPathPatterns("/api/customers/uniqueness-check")
                 .addPathPatterns("/api/customers/{customerId}/verify-ownership/{userId}"); // NEW
     }
 }
\ No newline at end of file
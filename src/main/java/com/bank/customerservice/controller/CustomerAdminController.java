@@ -1,29 +1,154 @@
 package com.bank.customerservice.controller;
 
+import com.bank.customerservice.dto.BulkRegistrationItem;
+import com.bank.customerservice.dto.BulkRegistrationResponse;
+import com.bank.customerservice.dto.CacheStatsResponse;
+import com.bank.customerservice.dto.CoalescingStatsResponse;
+import com.bank.customerservice.dto.CustomerListFilter;
+import com.bank.customerservice.dto.CustomerPageResponse;
 import com.bank.customerservice.dto.CustomerResponse;
 import com.bank.customerservice.dto.KycStatusUpdateRequest;
+import com.bank.customerservice.dto.KycUpdatePipelineStatsResponse;
+import com.bank.customerservice.dto.KycUpdateTicketResponse;
+import com.bank.customerservice.dto.OutboxStatsResponse;
+import com.bank.customerservice.entity.KycStatus;
 import com.bank.customerservice.security.JwtAuthInterceptor;
+import com.bank.customerservice.exception.BadRequestException;
+import com.bank.customerservice.exception.ResourceNotFoundException;
+import com.bank.customerservice.feed.KycStatusFeed;
+import com.bank.customerservice.kafka.KafkaEventProducer;
+import com.bank.customerservice.kafka.OutboxRelay;
+import com.bank.customerservice.kyc.KycUpdatePipeline;
+import com.bank.customerservice.search.CustomerSearchField;
+import com.bank.customerservice.service.CustomerBulkRegistrationService;
 import com.bank.customerservice.service.CustomerService;
+import com.bank.customerservice.service.impl.CustomerServiceImpl;
 import com.bank.customerservice.util.AuthenticatedUser;
+import com.bank.customerservice.util.ETags;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/api/customers/admin")
 @RequiredArgsConstructor
 public class CustomerAdminController {
 
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final CustomerService customerService;
+    private final CustomerBulkRegistrationService bulkRegistrationService;
+    private final OutboxRelay outboxRelay;
+    private final KafkaEventProducer kafkaEventProducer;
+    private final LoggingSystem loggingSystem;
+    private final ObjectMapper objectMapper;
+    private final KycStatusFeed kycStatusFeed;
+    private final KycUpdatePipeline kycUpdatePipeline;
+
+    // ✅ GET /api/customers/admin/all - same JSON array as before, written page by page instead of built in memory
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getAllCustomers() {
+        validateAdmin();
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                customerService.streamCustomers(new CustomerListFilter(), page -> writePage(generator, page, false));
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // ✅ GET /api/customers/admin/customers?afterId=&limit=&kycStatus=&registeredFrom=&registeredTo=
+    @GetMapping("/customers")
+    public ResponseEntity<CustomerPageResponse> getCustomersPage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + CustomerServiceImpl.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) KycStatus kycStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registeredFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registeredTo) {
+        validateAdmin();
+        CustomerListFilter filter = new CustomerListFilter(kycStatus, registeredFrom, registeredTo);
+        return ResponseEntity.ok(customerService.getCustomersPage(afterId, limit, filter));
+    }
+
+    // ✅ GET /api/customers/admin/search?q=&field=ANY&limit= - prefix search on name/email/phone, suffix on PAN/Aadhaar
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerResponse>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "ANY") CustomerSearchField field,
+            @RequestParam(defaultValue = "" + CustomerServiceImpl.DEFAULT_SEARCH_LIMIT) int limit) {
+        validateAdmin();
+        return ResponseEntity.ok(customerService.searchCustomers(q, field, limit));
+    }
+
+    // ✅ GET /api/customers/admin/customers/stream - one JSON customer per line (NDJSON)
+    @GetMapping(value = "/customers/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCustomers(
+            @RequestParam(required = false) KycStatus kycStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registeredFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime registeredTo) {
+        validateAdmin();
+        CustomerListFilter filter = new CustomerListFilter(kycStatus, registeredFrom, registeredTo);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                customerService.streamCustomers(filter, page -> writePage(generator, page, true));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 
-    // ✅ GET /api/customers/admin/all
-    @GetMapping("/all")
-    public ResponseEntity<List<CustomerResponse>> getAllCustomers() {
+    // ✅ POST /api/customers/admin/bulk-register - JSON array of { userId, customer }, parsed element by element
+    // like the NDJSON variant, so customer.bulk.max-rows stops reading instead of binding the whole upload first
+    @PostMapping(value = "/bulk-register", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkRegistrationResponse> bulkRegister(InputStream body) {
         validateAdmin();
-        return ResponseEntity.ok(customerService.getAllCustomers());
+        return ResponseEntity.ok(bulkRegistrationService.register(new JsonArrayRows(body, objectMapper)));
+    }
+
+    // ✅ POST /api/customers/admin/bulk-register - NDJSON, one { userId, customer } per line, read chunk by chunk
+    // Earlier chunks are already committed when a bad line is reached, so it becomes a FAILED row instead of a 400
+    @PostMapping(value = "/bulk-register", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkRegistrationResponse> bulkRegisterNdjson(InputStream body) {
+        validateAdmin();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(bulkRegistrationService.register(new NdjsonRows(lines, objectMapper)));
     }
 
     // ✅ GET /api/customers/admin/{customerId}
@@ -34,12 +159,232 @@ public class CustomerAdminController {
     }
 
     // ✅ PUT /api/customers/admin/{customerId}/kyc-status (Fixed path)
+    // With "Prefer: respond-async" the update is queued and 202 returns a ticket to poll
     @PutMapping("/{customerId}/kyc-status")
-    public ResponseEntity<CustomerResponse> updateKycStatus(
+    public ResponseEntity<?> updateKycStatus(
             @PathVariable Long customerId,
-            @RequestBody KycStatusUpdateRequest request) {
+            @RequestBody KycStatusUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        validateAdmin();
+        if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            if (ifMatch != null) {
+                throw new BadRequestException("If-Match is not supported with Prefer: respond-async");
+            }
+            KycUpdateTicketResponse ticket = kycUpdatePipeline.submit(customerId, request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/customers/admin/kyc-status/tickets/" + ticket.getTicketId()))
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(ticket);
+        }
+        CustomerResponse updated = customerService.updateKycStatus(customerId, request,
+                ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.forVersion(updated.getVersion())).body(updated);
+    }
+
+    // ✅ GET /api/customers/admin/kyc-status/tickets/{ticketId} - state of an async update
+    @GetMapping("/kyc-status/tickets/{ticketId}")
+    public ResponseEntity<KycUpdateTicketResponse> getKycUpdateTicket(@PathVariable String ticketId) {
+        validateAdmin();
+        return kycUpdatePipeline.getTicket(ticketId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("KYC update ticket not found or expired: " + ticketId));
+    }
+
+    // ✅ GET /api/customers/admin/kyc-status/async/stats - queue depth and coalesced batch sizes
+    @GetMapping("/kyc-status/async/stats")
+    public ResponseEntity<KycUpdatePipelineStatsResponse> getKycUpdatePipelineStats() {
+        validateAdmin();
+        return ResponseEntity.ok(kycUpdatePipeline.stats());
+    }
+
+    // ✅ GET /api/customers/admin/kyc-status/stream - SSE feed of every customer's KYC transitions
+    @GetMapping(path = "/kyc-status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKycStatus(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        validateAdmin();
+        return kycStatusFeed.subscribe(null, lastEventId, null);
+    }
+
+    // ✅ GET /api/customers/admin/cache/stats - hit/miss/eviction counters for sizing the lookup cache
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        validateAdmin();
+        return ResponseEntity.ok(customerService.getCacheStats());
+    }
+
+    // ✅ GET /api/customers/admin/lookup/stats - single-flight coalesce ratio and micro-batch sizes
+    @GetMapping("/lookup/stats")
+    public ResponseEntity<List<CoalescingStatsResponse>> getLookupStats() {
+        validateAdmin();
+        return ResponseEntity.ok(customerService.getLookupStats());
+    }
+
+    // ✅ GET /api/customers/admin/outbox/stats - backlog, relay lag and publish throughput
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<OutboxStatsResponse> getOutboxStats() {
         validateAdmin();
-        return ResponseEntity.ok(customerService.updateKycStatus(customerId, request));
+        return ResponseEntity.ok(outboxRelay.stats());
+    }
+
+    // ✅ GET /api/customers/admin/kafka/producer-metrics - record send rate, batch size avg, request latency
+    @GetMapping("/kafka/producer-metrics")
+    public ResponseEntity<Map<String, Object>> getProducerMetrics() {
+        validateAdmin();
+        return ResponseEntity.ok(kafkaEventProducer.producerMetrics());
+    }
+
+    // ✅ PUT /api/customers/admin/logging/sql?enabled=true - switch Hibernate SQL logging without a restart
+    @PutMapping("/logging/sql")
+    public ResponseEntity<Map<String, Object>> setSqlLogging(@RequestParam boolean enabled) {
+        validateAdmin();
+        loggingSystem.setLogLevel("org.hibernate.SQL", enabled ? LogLevel.DEBUG : LogLevel.INFO);
+        return ResponseEntity.ok(Map.of("logger", "org.hibernate.SQL", "enabled", enabled));
+    }
+
+    private static void writePage(JsonGenerator generator, List<CustomerResponse> page, boolean lineDelimited) {
+        try {
+            for (CustomerResponse customer : page) {
+                generator.writeObject(customer);
+                if (lineDelimited) {
+                    generator.writeRaw('\n');
+                }
+            }
+            generator.flush(); // push each page to the client instead of buffering the table
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // One item per non-blank line; a line that is not a valid row throws BadRequestException from next()
+    private static final class NdjsonRows implements Iterator<BulkRegistrationItem> {
+
+        private final BufferedReader lines;
+        private final ObjectReader reader;
+        private String nextLine;
+        private int lineNumber;
+
+        NdjsonRows(BufferedReader lines, ObjectMapper objectMapper) {
+            this.lines = lines;
+            this.reader = objectMapper.readerFor(BulkRegistrationItem.class);
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (nextLine == null) {
+                    String line = lines.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    lineNumber++;
+                    if (!line.isBlank()) {
+                        nextLine = line;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public BulkRegistrationItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            try {
+                return reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new BadRequestException("Malformed NDJSON row on line " + lineNumber + ": " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // A row that is valid JSON but doesn't bind becomes a FAILED row. Broken JSON ends the stream after one
+    // FAILED row, since nothing after it can be located; rows before it are already registered.
+    private static final class JsonArrayRows implements Iterator<BulkRegistrationItem> {
+
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private boolean peeked;
+        private String syntaxError;
+        private boolean done;
+        private int index = -1;
+
+        JsonArrayRows(InputStream body, ObjectMapper objectMapper) {
+            this.reader = objectMapper.readerFor(BulkRegistrationItem.class);
+            try {
+                this.parser = objectMapper.getFactory().createParser(body);
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new BadRequestException("Bulk registration body must be a JSON array");
+                }
+            } catch (JsonProcessingException e) {
+                throw new BadRequestException("Malformed JSON body: " + e.getOriginalMessage());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (done) {
+                return false;
+            }
+            if (peeked) {
+                return true;
+            }
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    done = true;
+                    return false;
+                }
+                if (token == null) {
+                    syntaxError = "unexpected end of input, the array is not closed";
+                }
+            } catch (JsonProcessingException e) {
+                syntaxError = e.getOriginalMessage();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            peeked = true;
+            return true;
+        }
+
+        @Override
+        public BulkRegistrationItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            peeked = false;
+            index++;
+            if (syntaxError != null) {
+                done = true;
+                throw new BadRequestException(malformed(syntaxError));
+            }
+            JsonNode row;
+            try {
+                row = parser.readValueAsTree();
+            } catch (JsonProcessingException e) {
+                done = true;
+                throw new BadRequestException(malformed(e.getOriginalMessage()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                return reader.readValue(row);
+            } catch (JsonProcessingException e) {
+                throw new BadRequestException("Invalid row at index " + index + ": " + e.getOriginalMessage());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private String malformed(String message) {
+            return "Malformed JSON at index " + index + ", rows after it were not read: " + message;
+        }
     }
 
     private void validateAdmin() {
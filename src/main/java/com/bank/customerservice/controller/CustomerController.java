@@ -1,17 +1,22 @@
 package com.bank.customerservice.controller;
 
 import com.bank.customerservice.dto.*;
-import com.bank.customerservice.entity.Customer;
 import com.bank.customerservice.exception.ResourceNotFoundException;
-import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.feed.KycStatusFeed;
 import com.bank.customerservice.security.JwtAuthInterceptor;
 import com.bank.customerservice.util.AuthenticatedUser;
+import com.bank.customerservice.util.ETags;
 import com.bank.customerservice.service.CustomerService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -19,7 +24,7 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerController {
 
     private final CustomerService customerService;
-    private final CustomerRepository customerRepository;
+    private final KycStatusFeed kycStatusFeed;
 
     // Remove the manual constructor - @RequiredArgsConstructor handles this
 
@@ -32,51 +37,68 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.register(request, userId));
     }
 
+    // 🔐 Access control is enforced by the service against the row it loads - one lookup per request
+    // 🏷️ GETs carry an ETag (the row version); a matching If-None-Match gets an empty 304
     @GetMapping("/{customerId}")
-    public ResponseEntity<CustomerResponse> getById(@PathVariable Long customerId) {
-        validateAccess(customerId);
-        return ResponseEntity.ok(customerService.getById(customerId));
+    public ResponseEntity<CustomerResponse> getById(@PathVariable Long customerId, WebRequest webRequest) {
+        AuthenticatedUser currentUser = JwtAuthInterceptor.getCurrentUser();
+        CustomerResponse customer = customerService.getById(customerId, currentUser);
+        return conditional(webRequest, customer.getVersion(), customer);
     }
 
+    // If-Match is optional; when sent and stale the update is rejected with 412
     @PutMapping("/{customerId}")
     public ResponseEntity<CustomerResponse> update(@PathVariable Long customerId,
-                                                   @Valid @RequestBody CustomerUpdateRequest request) {
-        validateAccess(customerId);
-        return ResponseEntity.ok(customerService.update(customerId, request));
+                                                   @Valid @RequestBody CustomerUpdateRequest request,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        AuthenticatedUser currentUser = JwtAuthInterceptor.getCurrentUser();
+        CustomerResponse updated = customerService.update(customerId, request, currentUser,
+                ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.forVersion(updated.getVersion())).body(updated);
     }
 
+    // Status polling (KYC service) - customerId and kycStatus only, no PII
     @GetMapping("/{customerId}/status")
-    public ResponseEntity<CustomerResponse> getStatus(@PathVariable Long customerId) {
-        validateAccess(customerId);
-        return ResponseEntity.ok(customerService.getStatus(customerId));
+    public ResponseEntity<CustomerStatusResponse> getStatus(@PathVariable Long customerId, WebRequest webRequest) {
+        AuthenticatedUser currentUser = JwtAuthInterceptor.getCurrentUser();
+        CustomerStatusResponse status = customerService.getStatus(customerId, currentUser);
+        return conditional(webRequest, status.getVersion(), status);
+    }
+
+    // 📡 Push alternative to polling /status: a "status" snapshot, then a "kyc-status" event per
+    // committed transition. Reconnect with Last-Event-ID to resume without gaps.
+    @GetMapping(path = "/{customerId}/kyc-status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKycStatus(@PathVariable Long customerId,
+                                      @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        AuthenticatedUser currentUser = JwtAuthInterceptor.getCurrentUser();
+        if (lastEventId != null) {
+            customerService.getStatus(customerId, currentUser); // access check only
+            return kycStatusFeed.subscribe(customerId, lastEventId, null);
+        }
+        String resumeAfter = kycStatusFeed.currentEventId();
+        CustomerStatusResponse snapshot = customerService.getStatus(customerId, currentUser);
+        return kycStatusFeed.subscribe(customerId, resumeAfter, snapshot);
     }
 
     // INTERNAL: Update KYC status (used by KYC Service)
     @PutMapping("/{customerId}/kyc-status")
     public ResponseEntity<CustomerResponse> updateKycStatus(
             @PathVariable Long customerId,
-            @Valid @RequestBody KycStatusUpdateRequest request) {
-        return ResponseEntity.ok(customerService.updateKycStatus(customerId, request));
+            @Valid @RequestBody KycStatusUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CustomerResponse updated = customerService.updateKycStatus(customerId, request,
+                ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.forVersion(updated.getVersion())).body(updated);
     }
 
-    // 🔐 Access control method
-    private void validateAccess(Long requestedCustomerId) {
-        AuthenticatedUser currentUser = JwtAuthInterceptor.getCurrentUser();
-
-        if ("ADMIN".equalsIgnoreCase(currentUser.getRole())) {
-            return; // Allow admin to access any customer
-        }
-
-        // Role = CUSTOMER, check if they own the customerId
-        Customer customer = customerRepository.findById(requestedCustomerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-
-        if (!customer.getUserId().equals(currentUser.getUserId())) {
-            throw new SecurityException("Access denied - you can only view your own status");
+    private static <T> ResponseEntity<T> conditional(WebRequest webRequest, Long version, T body) {
+        String etag = ETags.forVersion(version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build(); // nothing serialized
         }
+        return ResponseEntity.ok().eTag(etag).body(body);
     }
 
-
     @GetMapping("/user/{userId}/customer-id")
     public ResponseEntity<CustomerIdResponse> getCustomerIdByUserId(@PathVariable Long userId) {
         AuthenticatedUser currentUser = JwtAuthInterceptor.getCurrentUser();
@@ -95,6 +117,25 @@ public class CustomerController {
         return ResponseEntity.ok(new CustomerIdResponse(customerId));
     }
 
+    // Batch variants of GET /{customerId} and /user/{userId}/customer-id - one call instead of N
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        AuthenticatedUser currentUser = JwtAuthInterceptor.getCurrentUser();
+        return ResponseEntity.ok(customerService.batchGet(request.getCustomerIds(), currentUser));
+    }
+
+    @PostMapping("/user-ids/resolve")
+    public ResponseEntity<UserIdResolveResponse> resolveCustomerIds(@Valid @RequestBody UserIdResolveRequest request) {
+        AuthenticatedUser currentUser = JwtAuthInterceptor.getCurrentUser();
+        return ResponseEntity.ok(customerService.resolveCustomerIds(request.getUserIds(), currentUser));
+    }
+
+    // Form validation before registration: which of phone/email/PAN/Aadhaar are still free
+    @PostMapping("/uniqueness-check")
+    public ResponseEntity<UniquenessCheckResponse> checkUniqueness(@Valid @RequestBody UniquenessCheckRequest request) {
+        return ResponseEntity.ok(customerService.checkUniqueness(request));
+    }
+
     @GetMapping("/{customerId}/verify-ownership/{userId}")
     public ResponseEntity<Boolean> verifyCustomerOwnership(
             @PathVariable Long customerId,
@@ -108,14 +149,8 @@ public class CustomerController {
             throw new SecurityException("Access denied");
         }
 
-        try {
-            Customer customer = customerRepository.findById(customerId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-            boolean isOwner = customer.getUserId().equals(userId);
-            return ResponseEntity.ok(isOwner);
-        } catch (ResourceNotFoundException e) {
-            return ResponseEntity.ok(false);
-        }
+        // Existence check (or cached binding) - a missing customer is simply not owned
+        return ResponseEntity.ok(customerService.isOwnedBy(customerId, userId));
     }
 
 
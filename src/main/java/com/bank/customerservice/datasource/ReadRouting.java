@@ -0,0 +1,29 @@
+package com.bank.customerservice.datasource;
+
+import java.util.function.Supplier;
+
+// Pins reads on the current thread to the primary. Takes effect for connections obtained inside
+// the block, so wrap the first query of a transaction, not one in the middle of it.
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (primaryForced()) {
+            return action.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    static boolean primaryForced() {
+        return PRIMARY.get() != null;
+    }
+}
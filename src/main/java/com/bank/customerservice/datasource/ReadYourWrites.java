@@ -0,0 +1,139 @@
+package com.bank.customerservice.datasource;
+
+import com.bank.customerservice.security.JwtAuthInterceptor;
+import com.bank.customerservice.util.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+// Remembers recent writers and recently written customers for the read-your-writes window,
+// so replica lag never shows a user their own stale data or gets a stale row into the cache.
+// The caches below only cover this instance. So the writer's next request can land anywhere, a
+// write request also gets a cookie carrying the end of the window; any instance that sees it before
+// then reads from the primary. Pins for the customer and its owner stay instance-local: another
+// client reading the customer through a different instance can see the replica's lag.
+@Component
+public class ReadYourWrites {
+
+    static final String PIN_COOKIE = "customer-primary-until";
+
+    private final boolean enabled;
+    private final Duration window;
+    private final Cache<Long, Boolean> recentUsers;
+    private final Cache<Long, Boolean> recentCustomers;
+
+    public ReadYourWrites(@Value("${customer.datasource.routing.enabled:false}") boolean enabled,
+                          @Value("${customer.datasource.routing.read-your-writes-window:PT5S}") Duration window) {
+        this.enabled = enabled;
+        this.window = window;
+        this.recentUsers = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(window).build();
+        this.recentCustomers = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(window).build();
+    }
+
+    // Records the customer, its owner and, on a request thread, the authenticated writer.
+    // Called inside the write transaction, so the window effectively starts a little before the commit.
+    public void recordWrite(Long customerId, Long ownerUserId) {
+        if (!enabled) {
+            return;
+        }
+        recentCustomers.put(customerId, Boolean.TRUE);
+        if (ownerUserId != null) {
+            recentUsers.put(ownerUserId, Boolean.TRUE);
+        }
+        Long writerId = currentUserId();
+        if (writerId != null) {
+            recentUsers.put(writerId, Boolean.TRUE);
+        }
+        pinClient();
+    }
+
+    // Once per request - a bulk registration records a write per row
+    private void pinClient() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null
+                || attributes.getAttribute(PIN_COOKIE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributes.setAttribute(PIN_COOKIE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        long until = System.currentTimeMillis() + window.toMillis();
+        HttpServletResponse response = attributes.getResponse();
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(PIN_COOKIE, Long.toString(until))
+                .path("/")
+                .maxAge(window)
+                .httpOnly(true)
+                .build()
+                .toString());
+    }
+
+    // Customer-keyed reads that may run off the request thread (coalesced loads) check the keys themselves
+    public <T> T readCustomers(Collection<Long> customerIds, Supplier<T> query) {
+        return anyRecent(recentCustomers, customerIds) ? ReadRouting.onPrimary(query) : query.get();
+    }
+
+    public <T> T readUsers(Collection<Long> userIds, Supplier<T> query) {
+        return anyRecent(recentUsers, userIds) ? ReadRouting.onPrimary(query) : query.get();
+    }
+
+    private boolean anyRecent(Cache<Long, Boolean> recent, Collection<Long> ids) {
+        if (enabled) {
+            for (Long id : ids) {
+                if (recent.getIfPresent(id) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    boolean replicaAllowed() {
+        if (ReadRouting.primaryForced() || clientPinned()) {
+            return false;
+        }
+        Long userId = currentUserId();
+        return userId == null || recentUsers.getIfPresent(userId) == null;
+    }
+
+    // The expiry is checked here too: clients that ignore Max-Age keep sending the cookie
+    private boolean clientPinned() {
+        if (!enabled || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (PIN_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object user = attributes.getAttribute(JwtAuthInterceptor.CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return user instanceof AuthenticatedUser authenticated ? authenticated.getUserId() : null;
+    }
+}
@@ -0,0 +1,172 @@
+package com.bank.customerservice.datasource;
+
+import com.bank.customerservice.config.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only side of the routing proxy: picks a healthy replica pool per connection and falls back
+// to the primary when the caller must read its own writes or no replica can hand out a connection.
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadReplicaProperties.Selection selection;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile Counter replicaReads;
+    private volatile Counter pinnedReads;
+    private volatile Counter fallbackReads;
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                             ReadReplicaProperties.Selection selection, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!readYourWrites.replicaAllowed()) {
+            increment(pinnedReads);
+            return primary.getConnection();
+        }
+        // Each failed replica is marked down, so this tries every healthy replica at most once
+        for (Replica replica = select(); replica != null; replica = select()) {
+            try {
+                Connection connection = replica.pool.getConnection();
+                increment(replicaReads);
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        increment(fallbackReads);
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    private Replica select() {
+        return switch (selection) {
+            case ROUND_ROBIN -> roundRobin();
+            case LEAST_LOADED -> leastLoaded();
+        };
+    }
+
+    private Replica roundRobin() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.up) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastLoaded() {
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (!replica.up) {
+                continue;
+            }
+            HikariPoolMXBean pool = replica.pool.getHikariPoolMXBean();
+            int active = pool != null ? pool.getActiveConnections() + pool.getThreadsAwaitingConnection() : 0;
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private void markDown(Replica replica, SQLException cause) {
+        if (replica.up) {
+            replica.up = false;
+            log.warn("Read replica {} is unavailable, reads fall back to the other replicas or the primary: {}",
+                    replica.pool.getPoolName(), cause.getMessage());
+        }
+    }
+
+    // Brings replicas back once they answer again; a replica is only taken out by a failed checkout or check
+    @Scheduled(fixedDelayString = "${customer.datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.up) {
+                    replica.up = true;
+                    log.info("Read replica {} is back in rotation", replica.pool.getPoolName());
+                }
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("customer.datasource.replica.up", replica, r -> r.up ? 1 : 0)
+                    .description("1 while the replica is in the read rotation")
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(registry);
+        }
+        replicaReads = readCounter(registry, "replica");
+        pinnedReads = readCounter(registry, "primary_pinned");
+        fallbackReads = readCounter(registry, "primary_fallback");
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target) {
+        return Counter.builder("customer.datasource.reads")
+                .description("Read-only connections by where they were served from")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean up = true;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
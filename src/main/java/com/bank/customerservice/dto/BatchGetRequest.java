@@ -0,0 +1,17 @@
+package com.bank.customerservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetRequest {
+
+    @NotEmpty(message = "customerIds must not be empty")
+    private List<@NotNull Long> customerIds;
+}
@@ -0,0 +1,17 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetResponse {
+
+    private Map<Long, CustomerResponse> customers; // customerId -> customer, in request order
+    private List<Long> missing;                    // no such customer
+    private List<Long> denied;                     // exists, but not visible to the caller
+}
@@ -0,0 +1,20 @@
+package com.bank.customerservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationItem {
+
+    // Bulk uploads come from branches, not from the customer's own JWT, so each row names its user
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Customer details are required")
+    @Valid
+    private CustomerRegistrationRequest customer;
+}
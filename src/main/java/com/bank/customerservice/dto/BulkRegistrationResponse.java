@@ -0,0 +1,18 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationResponse {
+
+    private int total;
+    private int created;
+    private int rejected;
+    private boolean truncated; // true when the upload exceeded customer.bulk.max-rows
+    private List<BulkRegistrationResult> results;
+}
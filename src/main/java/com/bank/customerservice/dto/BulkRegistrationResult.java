@@ -0,0 +1,16 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationResult {
+
+    private int index; // Position of the row in the upload
+    private Long userId;
+    private BulkRegistrationStatus status;
+    private Long customerId;
+    private String message;
+}
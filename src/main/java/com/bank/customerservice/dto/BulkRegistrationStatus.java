@@ -0,0 +1,8 @@
+package com.bank.customerservice.dto;
+
+public enum BulkRegistrationStatus {
+    CREATED,
+    INVALID,
+    DUPLICATE,
+    FAILED
+}
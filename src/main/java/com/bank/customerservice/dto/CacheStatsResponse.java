@@ -0,0 +1,17 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsResponse {
+
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+}
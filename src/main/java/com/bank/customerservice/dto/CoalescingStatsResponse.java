@@ -0,0 +1,20 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoalescingStatsResponse {
+
+    private String name;
+    private long requests;         // lookups that missed the cache
+    private long coalesced;        // of those, joined another caller's in-flight load
+    private double coalesceRatio;
+    private long batches;          // repository calls issued
+    private long keysLoaded;
+    private double averageBatchSize;
+    private long maxBatchSize;
+    private int inFlight;
+}
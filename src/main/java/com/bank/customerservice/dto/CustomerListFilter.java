@@ -0,0 +1,17 @@
+package com.bank.customerservice.dto;
+
+import com.bank.customerservice.entity.KycStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerListFilter {
+
+    private KycStatus kycStatus;
+    private LocalDateTime registeredFrom; // inclusive
+    private LocalDateTime registeredTo;   // exclusive
+}
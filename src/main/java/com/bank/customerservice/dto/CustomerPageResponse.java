@@ -0,0 +1,17 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerPageResponse {
+
+    private List<CustomerResponse> content;
+    private int size;
+    private boolean hasMore;
+    private Long nextCursor; // Pass back as afterId to fetch the next page, null on the last page
+}
@@ -22,6 +22,7 @@ public class CustomerResponse {
     private String aadhaar;
     private KycStatus kycStatus;
     private LocalDateTime registeredAt;
+    private Long version;   // Also sent as the ETag header
     private String message; // For success/error messages
 
     // Fix the setter method - Lombok @Data should handle this, but let's make it explicit
@@ -0,0 +1,18 @@
+package com.bank.customerservice.dto;
+
+import com.bank.customerservice.entity.KycStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Lightweight status payload for KYC polling - no PII
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerStatusResponse {
+    private Long customerId;
+    private KycStatus kycStatus;
+    private Long version;
+}
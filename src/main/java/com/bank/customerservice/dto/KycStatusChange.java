@@ -0,0 +1,20 @@
+package com.bank.customerservice.dto;
+
+import com.bank.customerservice.entity.KycStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Payload of the "kyc-status" SSE event
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KycStatusChange {
+
+    private Long customerId;
+    private KycStatus previousStatus;
+    private KycStatus kycStatus;
+    private Long version;   // compare with the ETag / version you already have and skip older events
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,19 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KycUpdatePipelineStatsResponse {
+
+    private int partitions;
+    private int queueDepth;
+    private long accepted;
+    private long applied;
+    private long superseded;
+    private long failed;
+    private long batches;
+    private double averageBatchSize;
+}
@@ -0,0 +1,8 @@
+package com.bank.customerservice.dto;
+
+public enum KycUpdateState {
+    QUEUED,
+    APPLIED,
+    SUPERSEDED, // a later update for the same customer in the same batch won
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.bank.customerservice.dto;
+
+import com.bank.customerservice.entity.KycStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class KycUpdateTicketResponse {
+
+    private String ticketId;
+    private Long customerId;
+    private KycStatus kycStatus;
+    private KycUpdateState state;
+    private String message;
+    private Long version;           // customer version after the update, once APPLIED
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+}
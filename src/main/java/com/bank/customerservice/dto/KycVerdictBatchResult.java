@@ -0,0 +1,14 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KycVerdictBatchResult {
+
+    private int customers;   // distinct customers in the batch
+    private int applied;     // rows whose status changed
+    private int unchanged;   // already in the requested status
+    private int notFound;
+}
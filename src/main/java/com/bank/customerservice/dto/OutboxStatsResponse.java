@@ -0,0 +1,20 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxStatsResponse {
+
+    private long pending;
+    private long failed;
+    private long oldestPendingAgeMs; // relay lag
+    private long publishedTotal;     // since startup
+    private long failedAttemptsTotal;
+    private long batchesTotal;
+    private int lastBatchSize;
+    private long lastBatchMillis;
+    private double publishRatePerSecond; // over the last batch
+}
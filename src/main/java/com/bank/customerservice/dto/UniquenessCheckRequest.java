@@ -0,0 +1,25 @@
+package com.bank.customerservice.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import lombok.*;
+
+// Any subset of the unique registration fields; same formats as CustomerRegistrationRequest
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UniquenessCheckRequest {
+
+    @Pattern(regexp = "^[0-9]{10}$", message = "Phone must be 10 digits")
+    private String phone;
+
+    @Email(message = "Invalid email format")
+    private String email;
+
+    @Pattern(regexp = "^[A-Z]{5}[0-9]{4}[A-Z]{1}$", message = "Invalid PAN format")
+    private String pan;
+
+    @Pattern(regexp = "^[0-9]{12}$", message = "Aadhaar must be 12 digits")
+    private String aadhaar;
+}
@@ -0,0 +1,15 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UniquenessCheckResponse {
+
+    private Map<String, Boolean> available; // field -> no customer holds the value, for the fields sent
+    private boolean allAvailable;
+}
@@ -0,0 +1,17 @@
+package com.bank.customerservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserIdResolveResponse {
+
+    private Map<Long, Long> customerIds; // userId -> customerId, in request order
+    private List<Long> missing;          // user has no customer record
+    private List<Long> denied;           // caller may only resolve their own userId
+}
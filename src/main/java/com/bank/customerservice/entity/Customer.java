@@ -1,12 +1,25 @@
 package com.bank.customerservice.entity;
 
+import com.bank.customerservice.shard.ShardedSequence;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "CUSTOMERS")
+@Table(name = "CUSTOMERS", uniqueConstraints = {
+        // Names from V1/V3 - UniqueConstraintViolations maps them to the conflicting field, in generated schemas too
+        @UniqueConstraint(name = "UK_CUSTOMERS_USER_ID", columnNames = "userId"),
+        @UniqueConstraint(name = "UK_CUSTOMERS_PHONE", columnNames = "phone"),
+        @UniqueConstraint(name = "UK_CUSTOMERS_EMAIL", columnNames = "email"),
+        @UniqueConstraint(name = "UK_CUSTOMERS_PAN", columnNames = "pan"),
+        @UniqueConstraint(name = "UK_CUSTOMERS_AADHAAR", columnNames = "aadhaar")
+}, indexes = {
+        // Mirrors V7 so schema generation (local H2 runs) gets the same access paths
+        @Index(name = "idx_customers_status_id", columnList = "kycStatus, customerId, registeredAt"),
+        @Index(name = "idx_customers_registered_id", columnList = "registeredAt, customerId"),
+        @Index(name = "idx_customers_user_id_cust", columnList = "userId, customerId")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,20 +28,20 @@ import java.time.LocalDateTime;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedSequence(sequenceName = "CUSTOMERS_SEQ", allocationSize = 50) // pooled ids keep JDBC insert batching on; shard in the top bits
     private Long customerId;
 
     // ADD THIS: Link to User service
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private Long userId;  // Reference to users.user_id
 
     @Column(nullable = false)
     private String fullName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String phone;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     private LocalDate dob;
@@ -36,10 +49,10 @@ public class Customer {
     @Column(nullable = false)
     private String address;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String pan;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String aadhaar;
 
     @Enumerated(EnumType.STRING)
@@ -48,6 +61,11 @@ public class Customer {
 
     private LocalDateTime registeredAt;
 
+    // Optimistic lock - concurrent updates fail instead of overwriting each other; also the ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     public void onCreate() {
         this.registeredAt = LocalDateTime.now();
@@ -140,4 +158,12 @@ public class Customer {
     public void setRegisteredAt(LocalDateTime registeredAt) {
         this.registeredAt = registeredAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.bank.customerservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "CUSTOMER_OUTBOX")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_outbox_seq")
+    @SequenceGenerator(name = "customer_outbox_seq", sequenceName = "CUSTOMER_OUTBOX_SEQ", allocationSize = 50)
+    private Long id;
+
+    // customerId - also the Kafka record key, so events for one customer stay ordered
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private int schemaVersion;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+
+    public void markPublished(LocalDateTime at) {
+        this.status = OutboxStatus.PUBLISHED;
+        this.publishedAt = at;
+        this.lastError = null;
+    }
+
+    // Parks the event as FAILED once it has used up its attempts, otherwise leaves it PENDING for the next run
+    public void recordFailure(String error, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        if (this.attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.customerservice.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    PUBLISHED,
+    FAILED
+}
@@ -0,0 +1,20 @@
+package com.bank.customerservice.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// customer-changes topic payload (JSON), keyed by customerId when it names one. customerId tells every
+// other instance to drop its cached copy of a customer that was just written; uniqueKeys carries the
+// uniqueness filter keys (BloomFilter.key(), by field) of committed values. origin is the sending instance.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerChangedEvent {
+    private String origin;
+    private Long customerId;
+    private Map<String, List<Long>> uniqueKeys;
+}
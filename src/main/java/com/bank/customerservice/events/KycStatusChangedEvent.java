@@ -0,0 +1,15 @@
+package com.bank.customerservice.events;
+
+import com.bank.customerservice.entity.KycStatus;
+
+import java.time.LocalDateTime;
+
+// In-process event, published by CustomerServiceImpl when a KYC status changes and
+// delivered to the SSE feed once the transaction commits
+public record KycStatusChangedEvent(Long customerId,
+                                    Long userId,
+                                    KycStatus previousStatus,
+                                    KycStatus kycStatus,
+                                    Long version,
+                                    LocalDateTime changedAt) {
+}
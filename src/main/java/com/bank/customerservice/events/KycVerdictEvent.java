@@ -0,0 +1,15 @@
+package com.bank.customerservice.events;
+
+import com.bank.customerservice.entity.KycStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// kyc-verdict topic payload (JSON), keyed by customerId so a customer's verdicts stay on one partition
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KycVerdictEvent {
+    private Long customerId;
+    private KycStatus kycStatus;
+}
@@ -0,0 +1,15 @@
+package com.bank.customerservice.events.codec;
+
+import com.bank.customerservice.events.AccountCreationEvent;
+
+// Wire format for AccountCreationEvent; selected with customer.events.format (json | binary)
+public interface AccountCreationEventCodec {
+
+    String contentType();
+
+    int schemaVersion();
+
+    byte[] encode(AccountCreationEvent event);
+
+    AccountCreationEvent decode(byte[] payload);
+}
@@ -0,0 +1,87 @@
+package com.bank.customerservice.events.codec;
+
+import com.bank.customerservice.events.AccountCreationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Versioned binary layout, encoded into one exactly-sized array:
+//   byte 0    magic 0xCE
+//   byte 1    schema version (1)
+//   byte 2    field presence bits (bit 0 = customerId)
+//   byte 3..  customerId as an unsigned LEB128 varint (1-10 bytes)
+@Component
+@ConditionalOnProperty(name = "customer.events.format", havingValue = "binary")
+public class BinaryAccountCreationEventCodec implements AccountCreationEventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.bank.account-creation+binary";
+    static final byte MAGIC = (byte) 0xCE;
+    static final byte VERSION = 1;
+
+    private static final int HEADER_SIZE = 3;
+    private static final int HAS_CUSTOMER_ID = 1;
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public int schemaVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] encode(AccountCreationEvent event) {
+        Long customerId = event.getCustomerId();
+        if (customerId == null) {
+            return new byte[]{MAGIC, VERSION, 0};
+        }
+
+        long value = customerId;
+        byte[] out = new byte[HEADER_SIZE + varintSize(value)];
+        out[0] = MAGIC;
+        out[1] = VERSION;
+        out[2] = HAS_CUSTOMER_ID;
+        int pos = HEADER_SIZE;
+        while ((value & ~0x7FL) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos] = (byte) value;
+        return out;
+    }
+
+    @Override
+    public AccountCreationEvent decode(byte[] payload) {
+        if (payload.length < HEADER_SIZE || payload[0] != MAGIC) {
+            throw new IllegalArgumentException("Not a binary account creation event");
+        }
+        if (payload[1] > VERSION) {
+            throw new IllegalArgumentException("Unsupported account creation event version " + payload[1]);
+        }
+        if ((payload[2] & HAS_CUSTOMER_ID) == 0) {
+            return new AccountCreationEvent(null);
+        }
+
+        long value = 0;
+        int shift = 0;
+        for (int pos = HEADER_SIZE; pos < payload.length; pos++) {
+            byte b = payload[pos];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return new AccountCreationEvent(value);
+            }
+            shift += 7;
+            if (shift > 63) {
+                break;
+            }
+        }
+        throw new IllegalArgumentException("Truncated account creation event");
+    }
+
+    private static int varintSize(long value) {
+        // Bits needed, rounded up to 7-bit groups (0 still needs one byte)
+        int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.customerservice.events.codec;
+
+import com.bank.customerservice.events.AccountCreationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// Compatibility mode - the original {"customerId":123} payload
+@Component
+@ConditionalOnProperty(name = "customer.events.format", havingValue = "json", matchIfMissing = true)
+public class JsonAccountCreationEventCodec implements AccountCreationEventCodec {
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public JsonAccountCreationEventCodec(ObjectMapper objectMapper) {
+        // Pre-resolved writer/reader skip the per-call type lookup of writeValueAsString
+        this.writer = objectMapper.writerFor(AccountCreationEvent.class);
+        this.reader = objectMapper.readerFor(AccountCreationEvent.class);
+    }
+
+    @Override
+    public String contentType() {
+        return MediaType.APPLICATION_JSON_VALUE;
+    }
+
+    @Override
+    public int schemaVersion() {
+        return 1;
+    }
+
+    @Override
+    public byte[] encode(AccountCreationEvent event) {
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode account creation event " + event, e);
+        }
+    }
+
+    @Override
+    public AccountCreationEvent decode(byte[] payload) {
+        try {
+            return reader.readValue(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed account creation event", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.customerservice.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -23,6 +24,36 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, "BAD_REQUEST", ex.getMessage());
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<?> handleConflict(ConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", Map.of(
+                        "code", "CONFLICT",
+                        "message", ex.getMessage(),
+                        "field", ex.getField(),
+                        "timestamp", LocalDateTime.now()
+                )
+        ));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> handlePreconditionFailed(PreconditionFailedException ex) {
+        return buildResponse(HttpStatus.PRECONDITION_FAILED, "PRECONDITION_FAILED", ex.getMessage());
+    }
+
+    // Async KYC queue is full - the caller retries, or falls back to the synchronous PUT
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", ex.getMessage());
+    }
+
+    // Lost update detected by @Version on a write that didn't send If-Match
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return buildResponse(HttpStatus.CONFLICT, "CONCURRENT_MODIFICATION",
+                "Customer was modified concurrently - reload and retry");
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -0,0 +1,60 @@
+package com.bank.customerservice.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+// Maps CUSTOMERS unique constraint names (see V1/V3 migrations) to the API field they protect
+public final class UniqueConstraintViolations {
+
+    private static final Map<String, String> FIELD_BY_CONSTRAINT = Map.of(
+            "UK_CUSTOMERS_USER_ID", "userId",
+            "UK_CUSTOMERS_PHONE", "phone",
+            "UK_CUSTOMERS_EMAIL", "email",
+            "UK_CUSTOMERS_PAN", "pan",
+            "UK_CUSTOMERS_AADHAAR", "aadhaar"
+    );
+
+    private UniqueConstraintViolations() {
+    }
+
+    public static Optional<String> conflictingField(DataIntegrityViolationException ex) {
+        String constraint = constraintName(ex);
+        if (constraint == null) {
+            return Optional.empty();
+        }
+        String upper = constraint.toUpperCase(Locale.ROOT);
+        // Oracle reports SCHEMA.CONSTRAINT_NAME, so match on the suffix
+        return FIELD_BY_CONSTRAINT.entrySet().stream()
+                .filter(entry -> upper.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst();
+    }
+
+    // Returns a ConflictException for known unique constraints, otherwise the original exception
+    public static RuntimeException translate(DataIntegrityViolationException ex) {
+        return conflictingField(ex)
+                .<RuntimeException>map(field -> new ConflictException(field, messageFor(field)))
+                .orElse(ex);
+    }
+
+    public static String messageFor(String field) {
+        return "userId".equals(field)
+                ? "Customer already exists for this user"
+                : "Customer with this " + field + " already exists";
+    }
+
+    private static String constraintName(DataIntegrityViolationException ex) {
+        Throwable cause = ex;
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName();
+            }
+            cause = cause.getCause();
+        }
+        return ex.getMostSpecificCause().getMessage();
+    }
+}
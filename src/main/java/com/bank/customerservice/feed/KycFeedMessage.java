@@ -0,0 +1,8 @@
+package com.bank.customerservice.feed;
+
+// A pre-serialized SSE event; data is JSON, encoded once per event rather than per subscriber.
+// id is the wire id ("<epoch>-<sequence>"), null for events a client cannot resume from.
+record KycFeedMessage(String id, Long customerId, String name, String data) {
+
+    static final KycFeedMessage HEARTBEAT = new KycFeedMessage(null, null, "heartbeat", "");
+}
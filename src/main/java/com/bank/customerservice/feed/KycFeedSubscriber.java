@@ -0,0 +1,119 @@
+package com.bank.customerservice.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// One SSE connection. Publishers only offer to the bounded queue; a single drain task on the
+// delivery executor does the blocking writes, so a slow client never stalls the write path.
+@Slf4j
+class KycFeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final Long customerId; // null = admin-wide
+    private final BlockingQueue<KycFeedMessage> queue;
+    private final Executor deliveryExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    KycFeedSubscriber(SseEmitter emitter, Long customerId, int capacity, Executor deliveryExecutor) {
+        this.emitter = emitter;
+        this.customerId = customerId;
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    Long customerId() {
+        return customerId;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean accepts(Long eventCustomerId) {
+        return customerId == null || customerId.equals(eventCustomerId);
+    }
+
+    // Full buffer: disconnect rather than drop silently - the client resumes with Last-Event-ID
+    void offer(KycFeedMessage message) {
+        if (closed) {
+            return;
+        }
+        if (!queue.offer(message)) {
+            log.warn("KYC feed subscriber (customerId={}) fell {} events behind, disconnecting",
+                    customerId, queue.size());
+            close();
+            return;
+        }
+        scheduleDrain();
+    }
+
+    // Heartbeats are best effort and never count as overflow
+    void offerHeartbeat() {
+        if (!closed && queue.isEmpty() && queue.offer(KycFeedMessage.HEARTBEAT)) {
+            scheduleDrain();
+        }
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            queue.clear();
+            deliveryExecutor.execute(emitter::complete);
+        }
+    }
+
+    void markClosed() {
+        closed = true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            deliveryExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            KycFeedMessage message;
+            while (!closed && (message = queue.poll()) != null) {
+                send(message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("KYC feed subscriber (customerId={}) disconnected: {}", customerId, e.getMessage());
+            closed = true;
+            emitter.completeWithError(e);
+        } finally {
+            draining.set(false);
+            // An offer may have landed after the last poll but before the flag was cleared
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void send(KycFeedMessage message) throws IOException {
+        if (message == KycFeedMessage.HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name(message.name())
+                .data(message.data(), MediaType.APPLICATION_JSON);
+        if (message.id() != null) {
+            event.id(message.id());
+        }
+        emitter.send(event);
+    }
+}
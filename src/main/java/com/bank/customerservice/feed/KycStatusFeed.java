@@ -0,0 +1,202 @@
+package com.bank.customerservice.feed;
+
+import com.bank.customerservice.dto.CustomerStatusResponse;
+import com.bank.customerservice.dto.KycStatusChange;
+import com.bank.customerservice.events.KycStatusChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Server-Sent Events feed of committed KYC status transitions.
+// Event ids are "<epoch>-<sequence>": the sequence counts per instance and the epoch is random per
+// start, so an id is only meaningful to the instance that issued it. The last replay-size events are
+// kept in a ring so a reconnecting client can resume with Last-Event-ID. An id from another instance
+// or from before a restart, or one that fell out of the ring, gets a "reset" event instead and the
+// client should re-read the status.
+// Fan-out is local: transitions are published from the committing instance's AFTER_COMMIT listener, so
+// a subscriber only sees changes committed on the instance it is connected to. With more than one
+// instance, route the KYC updates and the streams to the same instance, or clients miss events.
+@Slf4j
+@Component
+public class KycStatusFeed {
+
+    static final String STATUS_EVENT = "kyc-status";
+    static final String SNAPSHOT_EVENT = "status";
+    static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final String epoch = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    private final int subscriberBuffer;
+    private final long timeoutMillis;
+
+    // Blocking SSE writes run here, one drain task per subscriber at a time
+    private final ExecutorService deliveryExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("kyc-feed-", 0).factory());
+
+    // Ring of recent events and the id counter - guarded by this, together with subscriber
+    // registration, so a resuming subscriber sees every event exactly once
+    private final KycFeedMessage[] ring;
+    private long lastEventId;
+
+    private final Set<KycFeedSubscriber> adminSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<KycFeedSubscriber>> subscribersByCustomer = new ConcurrentHashMap<>();
+
+    public KycStatusFeed(ObjectMapper objectMapper,
+                         @Value("${customer.kyc-feed.replay-size:1000}") int replaySize,
+                         @Value("${customer.kyc-feed.subscriber-buffer:256}") int subscriberBuffer,
+                         @Value("${customer.kyc-feed.timeout:PT30M}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.ring = new KycFeedMessage[Math.max(replaySize, 1)];
+        this.subscriberBuffer = Math.max(subscriberBuffer, 1);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    // Runs on the committing thread: serialize once, then only non-blocking queue offers
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusChanged(KycStatusChangedEvent event) {
+        String data = toJson(KycStatusChange.builder()
+                .customerId(event.customerId())
+                .previousStatus(event.previousStatus())
+                .kycStatus(event.kycStatus())
+                .version(event.version())
+                .changedAt(event.changedAt())
+                .build());
+
+        synchronized (this) {
+            long sequence = ++lastEventId;
+            KycFeedMessage message = new KycFeedMessage(eventId(sequence), event.customerId(), STATUS_EVENT, data);
+            ring[(int) (sequence % ring.length)] = message;
+            adminSubscribers.forEach(subscriber -> subscriber.offer(message));
+            Set<KycFeedSubscriber> forCustomer = subscribersByCustomer.get(event.customerId());
+            if (forCustomer != null) {
+                forCustomer.forEach(subscriber -> subscriber.offer(message));
+            }
+        }
+    }
+
+    // Id of the newest event - take it before reading a status snapshot and resume from it,
+    // so a change committed in between is replayed instead of lost
+    public synchronized String currentEventId() {
+        return eventId(lastEventId);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // customerId null = every customer (admin). snapshot, when given, is sent first.
+    public SseEmitter subscribe(Long customerId, String resumeAfterId, CustomerStatusResponse snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        synchronized (this) {
+            List<KycFeedMessage> backlog = new ArrayList<>();
+            if (snapshot != null) {
+                backlog.add(new KycFeedMessage(null, customerId, SNAPSHOT_EVENT, toJson(snapshot)));
+            }
+            if (resumeAfterId != null) {
+                backlog.addAll(replayAfter(resumeAfterId, customerId));
+            }
+
+            KycFeedSubscriber subscriber = new KycFeedSubscriber(emitter, customerId,
+                    subscriberBuffer + backlog.size(), deliveryExecutor);
+            emitter.onCompletion(() -> unregister(subscriber));
+            emitter.onTimeout(() -> unregister(subscriber));
+            emitter.onError(error -> unregister(subscriber));
+
+            if (customerId == null) {
+                adminSubscribers.add(subscriber);
+            } else {
+                // compute keeps this atomic with unregister dropping an emptied set
+                subscribersByCustomer.compute(customerId, (id, subscribers) -> {
+                    Set<KycFeedSubscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                    set.add(subscriber);
+                    return set;
+                });
+            }
+            backlog.forEach(subscriber::offer);
+        }
+        return emitter;
+    }
+
+    // Caller holds the lock
+    private List<KycFeedMessage> replayAfter(String resumeAfterId, Long customerId) {
+        long resumeAfter = sequenceOf(resumeAfterId);
+        long oldestKept = Math.max(1, lastEventId - ring.length + 1);
+        List<KycFeedMessage> replay = new ArrayList<>();
+        if (resumeAfter < 0 || resumeAfter > lastEventId || resumeAfter + 1 < oldestKept) {
+            // Issued by another instance or before a restart, or too far behind to replay
+            replay.add(new KycFeedMessage(eventId(lastEventId), customerId, RESET_EVENT, "{}"));
+            return replay;
+        }
+        for (long id = resumeAfter + 1; id <= lastEventId; id++) {
+            KycFeedMessage message = ring[(int) (id % ring.length)];
+            if (customerId == null || customerId.equals(message.customerId())) {
+                replay.add(message);
+            }
+        }
+        return replay;
+    }
+
+    // -1 unless the id was issued by this instance since it started
+    private long sequenceOf(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${customer.kyc-feed.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        adminSubscribers.forEach(KycFeedSubscriber::offerHeartbeat);
+        subscribersByCustomer.values().forEach(subscribers -> subscribers.forEach(KycFeedSubscriber::offerHeartbeat));
+    }
+
+    private void unregister(KycFeedSubscriber subscriber) {
+        subscriber.markClosed();
+        if (subscriber.customerId() == null) {
+            adminSubscribers.remove(subscriber);
+        } else {
+            subscribersByCustomer.computeIfPresent(subscriber.customerId(), (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize KYC feed event", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        adminSubscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribersByCustomer.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter().complete()));
+        deliveryExecutor.shutdown();
+    }
+}
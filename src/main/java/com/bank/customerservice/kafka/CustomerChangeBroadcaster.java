@@ -0,0 +1,162 @@
+package com.bank.customerservice.kafka;
+
+import com.bank.customerservice.cache.CustomerCache;
+import com.bank.customerservice.cache.CustomerLookupCoalescer;
+import com.bank.customerservice.events.CustomerChangedEvent;
+import com.bank.customerservice.uniqueness.CustomerUniquenessFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps the other instances' customer caches and uniqueness filters in step with writes made here.
+// Each committed write is published on the customer-changes topic; every instance reads the topic in
+// its own consumer group (CustomerChangeConsumerConfig), evicts the customer and adds the unique keys,
+// so a stale row or a missed "taken" lasts for the publish-to-consume delay instead of the cache TTL
+// or filter rebuild interval. The local eviction in afterWrite() stays the immediate one. Sends run on
+// their own thread so a slow or unreachable broker never holds up a request; if the queue overflows or
+// a send fails, other instances fall back to the TTL and the next rebuild.
+@Slf4j
+@Component
+public class CustomerChangeBroadcaster implements MeterBinder {
+
+    private final CustomerCache customerCache;
+    private final CustomerLookupCoalescer lookupCoalescer;
+    // The filter publishes through us, so it is looked up lazily
+    private final ObjectProvider<CustomerUniquenessFilter> uniquenessFilter;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String topic;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ThreadPoolExecutor sender;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+
+    public CustomerChangeBroadcaster(CustomerCache customerCache,
+                                     CustomerLookupCoalescer lookupCoalescer,
+                                     ObjectProvider<CustomerUniquenessFilter> uniquenessFilter,
+                                     KafkaTemplate<String, byte[]> kafkaTemplate,
+                                     ObjectMapper objectMapper,
+                                     @Value("${customer.change-broadcast.enabled:true}") boolean enabled,
+                                     @Value("${customer.change-broadcast.topic:customer-changes}") String topic,
+                                     @Value("${customer.change-broadcast.queue-capacity:10000}") int queueCapacity) {
+        this.customerCache = customerCache;
+        this.lookupCoalescer = lookupCoalescer;
+        this.uniquenessFilter = uniquenessFilter;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.topic = topic;
+        this.sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                Thread.ofPlatform().name("customer-change-broadcast").daemon().factory(),
+                (task, executor) -> dropped.incrementAndGet());
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    // Published once the transaction commits, so no instance can reload the row before the write is visible
+    public void publishAfterCommit(Long customerId) {
+        if (!enabled) {
+            return;
+        }
+        CustomerChangedEvent event = new CustomerChangedEvent(instanceId, customerId, null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sender.execute(() -> send(event));
+                }
+            });
+        } else {
+            sender.execute(() -> send(event));
+        }
+    }
+
+    // The uniqueness filter calls this after its own commit hook
+    public void publishUniqueKeys(Map<String, List<Long>> keys) {
+        if (enabled) {
+            CustomerChangedEvent event = new CustomerChangedEvent(instanceId, null, keys);
+            sender.execute(() -> send(event));
+        }
+    }
+
+    private void send(CustomerChangedEvent event) {
+        Long customerId = event.getCustomerId();
+        try {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic,
+                    customerId != null ? String.valueOf(customerId) : null, objectMapper.writeValueAsBytes(event));
+            // A transactional producer (exactly-once preset) only sends inside a Kafka transaction
+            (kafkaTemplate.isTransactional()
+                    ? kafkaTemplate.executeInTransaction(operations -> operations.send(record))
+                    : kafkaTemplate.send(record))
+                    .whenComplete((result, error) -> {
+                        if (error == null) {
+                            published.incrementAndGet();
+                        } else {
+                            dropped.incrementAndGet();
+                            log.warn("Customer change broadcast failed: {}", error.getMessage());
+                        }
+                    });
+        } catch (JsonProcessingException | RuntimeException e) {
+            dropped.incrementAndGet();
+            log.warn("Customer change broadcast failed: {}", e.getMessage());
+        }
+    }
+
+    // Called by CustomerChangeListener for every event on the topic; our own were applied when they committed
+    public void apply(CustomerChangedEvent event) {
+        if (instanceId.equals(event.getOrigin())) {
+            return;
+        }
+        if (event.getCustomerId() != null) {
+            customerCache.evict(event.getCustomerId());
+            lookupCoalescer.forget(event.getCustomerId());
+        }
+        if (event.getUniqueKeys() != null) {
+            uniquenessFilter.getObject().addRemote(event.getUniqueKeys());
+        }
+        applied.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("customer.change.broadcast", published, AtomicLong::get)
+                .description("Customer change events sent to, dropped before, or applied from the broadcast topic")
+                .tag("outcome", "published").register(registry);
+        FunctionCounter.builder("customer.change.broadcast", dropped, AtomicLong::get)
+                .description("Customer change events sent to, dropped before, or applied from the broadcast topic")
+                .tag("outcome", "dropped").register(registry);
+        FunctionCounter.builder("customer.change.broadcast", applied, AtomicLong::get)
+                .description("Customer change events sent to, dropped before, or applied from the broadcast topic")
+                .tag("outcome", "applied").register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+}
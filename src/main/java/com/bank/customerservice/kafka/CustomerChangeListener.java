@@ -0,0 +1,42 @@
+package com.bank.customerservice.kafka;
+
+import com.bank.customerservice.events.CustomerChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+// Applies other instances' customer changes to the local caches, a poll batch at a time
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "customer.change-broadcast.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerChangeListener {
+
+    private final CustomerChangeBroadcaster broadcaster;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(id = "customerChangeListener",
+            topics = "${customer.change-broadcast.topic:customer-changes}",
+            containerFactory = "customerChangeListenerContainerFactory")
+    public void onChanges(List<ConsumerRecord<String, byte[]>> records) {
+        for (ConsumerRecord<String, byte[]> record : records) {
+            if (record.value() == null) {
+                continue;
+            }
+            try {
+                broadcaster.apply(objectMapper.readValue(record.value(), CustomerChangedEvent.class));
+            } catch (IOException e) {
+                // Retrying can't fix it, and the TTL still bounds how long that customer stays stale
+                log.warn("Skipping unreadable customer change at {}-{}@{}: {}",
+                        record.topic(), record.partition(), record.offset(), e.getMessage());
+            }
+        }
+    }
+}
@@ -1,20 +1,105 @@
 package com.bank.customerservice.kafka;
 
-import lombok.RequiredArgsConstructor;
+import com.bank.customerservice.entity.OutboxEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class KafkaEventProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private static final String TOPIC = "account-creation-topic";
+    public static final String ACCOUNT_CREATION_TOPIC = "account-creation-topic";
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String SCHEMA_VERSION_HEADER = "schema-version";
+    public static final String EVENT_TYPE_HEADER = "event-type";
+
+    private static final String PRODUCER_METRICS_GROUP = "producer-metrics";
+    private static final Set<String> REPORTED_METRICS = Set.of(
+            "record-send-rate",
+            "record-error-rate",
+            "batch-size-avg",
+            "records-per-request-avg",
+            "compression-rate-avg",
+            "request-latency-avg",
+            "request-latency-max");
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    // Send -> broker ack latency; the failure timer's count is the failed-send count
+    private final Timer sendSuccessTimer;
+    private final Timer sendFailureTimer;
+
+    public KafkaEventProducer(KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.sendSuccessTimer = sendTimer(meterRegistry, "success");
+        this.sendFailureTimer = sendTimer(meterRegistry, "failure");
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("customer.kafka.send")
+                .description("Time from send to broker acknowledgement")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Keyed by customerId so all events of one customer land on the same partition, in order
+    public ProducerRecord<String, byte[]> record(OutboxEvent event) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(
+                event.getTopic(), String.valueOf(event.getAggregateId()), event.getPayload());
+        record.headers()
+                .add(CONTENT_TYPE_HEADER, event.getContentType().getBytes(StandardCharsets.UTF_8))
+                .add(SCHEMA_VERSION_HEADER, Integer.toString(event.getSchemaVersion()).getBytes(StandardCharsets.UTF_8))
+                .add(EVENT_TYPE_HEADER, event.getEventType().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    // Sends a batch, wrapped in one Kafka transaction when the producer is transactional (exactly-once preset)
+    public List<CompletableFuture<SendResult<String, byte[]>>> sendBatch(List<ProducerRecord<String, byte[]>> records) {
+        long start = System.nanoTime();
+        List<CompletableFuture<SendResult<String, byte[]>>> futures;
+        if (kafkaTemplate.isTransactional()) {
+            futures = kafkaTemplate.executeInTransaction(operations -> {
+                List<CompletableFuture<SendResult<String, byte[]>>> sent = new ArrayList<>(records.size());
+                for (ProducerRecord<String, byte[]> record : records) {
+                    sent.add(operations.send(record));
+                }
+                return sent;
+            });
+        } else {
+            futures = new ArrayList<>(records.size());
+            for (ProducerRecord<String, byte[]> record : records) {
+                futures.add(kafkaTemplate.send(record));
+            }
+        }
+        for (CompletableFuture<SendResult<String, byte[]>> future : futures) {
+            future.whenComplete((result, error) -> (error == null ? sendSuccessTimer : sendFailureTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        }
+        return futures;
+    }
 
-    public void sendMessage(String message) {
-        log.info("Sending kafka message to {} : {}", TOPIC, message);
-        kafkaTemplate.send(TOPIC, message);
+    // Client-side producer metrics: send rate, batching efficiency and broker latency
+    public Map<String, Object> producerMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        kafkaTemplate.metrics().forEach((name, metric) -> {
+            if (PRODUCER_METRICS_GROUP.equals(name.group()) && REPORTED_METRICS.contains(name.name())) {
+                metrics.put(name.name(), metric.metricValue());
+            }
+        });
+        return metrics;
     }
 }
@@ -0,0 +1,128 @@
+package com.bank.customerservice.kafka;
+
+import com.bank.customerservice.dto.KycVerdictBatchResult;
+import com.bank.customerservice.entity.KycStatus;
+import com.bank.customerservice.events.KycVerdictEvent;
+import com.bank.customerservice.service.CustomerService;
+import com.bank.customerservice.shard.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Applies KYC verdicts a poll batch at a time. The listener returns only after the DB transaction
+// commits, and the container (AckMode.BATCH) commits offsets after that - a crash in between
+// redelivers the batch, which the status-guarded update turns into a no-op.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "customer.kyc-verdict.enabled", havingValue = "true")
+public class KycVerdictListener {
+
+    private final CustomerService customerService;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter applied;
+    private final Counter unchanged;
+    private final Counter notFound;
+    private final Counter invalid;
+
+    public KycVerdictListener(CustomerService customerService, ShardRouter shardRouter, ObjectMapper objectMapper,
+                              MeterRegistry registry) {
+        this.customerService = customerService;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.batchTimer = Timer.builder("customer.kyc.verdict.batch")
+                .description("Decode and apply one poll batch, including the DB commit")
+                .register(registry);
+        this.lagTimer = Timer.builder("customer.kyc.verdict.lag")
+                .description("Record timestamp to the start of its batch apply")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("customer.kyc.verdict.batch.size")
+                .description("Records per poll batch")
+                .register(registry);
+        this.applied = verdictCounter(registry, "applied");
+        this.unchanged = verdictCounter(registry, "unchanged");
+        this.notFound = verdictCounter(registry, "not_found");
+        this.invalid = verdictCounter(registry, "invalid");
+    }
+
+    private static Counter verdictCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("customer.kyc.verdict.records")
+                .description("Verdict records by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @KafkaListener(id = "kycVerdictListener",
+            topics = "${customer.kyc-verdict.topic:kyc-verdict}",
+            containerFactory = "kycVerdictListenerContainerFactory")
+    public void onVerdicts(List<ConsumerRecord<String, byte[]>> records) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        batchSizes.record(records.size());
+
+        // Records arrive in offset order per partition, so the last verdict for a customer wins
+        Map<Long, KycStatus> verdicts = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            lagTimer.record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+            KycVerdictEvent verdict = decode(record);
+            if (verdict == null) {
+                invalid.increment();
+                continue;
+            }
+            verdicts.put(verdict.getCustomerId(), verdict.getKycStatus());
+        }
+
+        // One transaction per shard. If a later shard fails the whole batch is redelivered, and the
+        // shards that already committed skip their rows as unchanged.
+        for (List<Long> shardIds : shardRouter.partition(verdicts.keySet(),
+                id -> Math.max(shardRouter.shardOfCustomer(id), 0)).values()) {
+            Map<Long, KycStatus> shardVerdicts = new LinkedHashMap<>();
+            shardIds.forEach(id -> shardVerdicts.put(id, verdicts.get(id)));
+            KycVerdictBatchResult result = customerService.applyKycVerdicts(shardVerdicts);
+            applied.increment(result.getApplied());
+            unchanged.increment(result.getUnchanged());
+            notFound.increment(result.getNotFound());
+            if (result.getNotFound() > 0) {
+                log.warn("KYC verdict batch referenced {} unknown customers", result.getNotFound());
+            }
+            log.debug("KYC verdict batch of {} records: {}", records.size(), result);
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // A malformed record can't be fixed by retrying - log it and move on instead of blocking the partition
+    private KycVerdictEvent decode(ConsumerRecord<String, byte[]> record) {
+        if (record.value() == null) {
+            log.warn("Skipping empty KYC verdict at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return null;
+        }
+        try {
+            KycVerdictEvent verdict = objectMapper.readValue(record.value(), KycVerdictEvent.class);
+            if (verdict.getCustomerId() != null && verdict.getKycStatus() != null) {
+                return verdict;
+            }
+            log.warn("Skipping incomplete KYC verdict at {}-{}@{}", record.topic(), record.partition(), record.offset());
+        } catch (IOException e) {
+            log.warn("Skipping unreadable KYC verdict at {}-{}@{}: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.bank.customerservice.kafka;
+
+import com.bank.customerservice.dto.OutboxStatsResponse;
+import com.bank.customerservice.entity.OutboxEvent;
+import com.bank.customerservice.entity.OutboxStatus;
+import com.bank.customerservice.repository.OutboxEventRepository;
+import com.bank.customerservice.shard.ShardContext;
+import com.bank.customerservice.shard.ShardRouter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains CUSTOMER_OUTBOX in batches: lock a batch, send every record, wait for the acks,
+// then mark each row PUBLISHED or count a failed attempt - all in one transaction.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay implements MeterBinder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaEventProducer kafkaEventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    @Value("${customer.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${customer.outbox.relay.ack-timeout-ms:10000}")
+    private long ackTimeoutMs;
+
+    @Value("${customer.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    private final AtomicLong publishedTotal = new AtomicLong();
+    private final AtomicLong failedAttemptsTotal = new AtomicLong();
+    private final AtomicLong batchesTotal = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile long lastBatchMillis;
+    private volatile Timer batchTimer; // set once the registry binds us
+
+    @Scheduled(fixedDelayString = "${customer.outbox.relay.interval-ms:500}")
+    public void relay() {
+        // Each shard has its own CUSTOMER_OUTBOX, written in the same transaction as its customers
+        for (int shard : shardRouter.allShards()) {
+            ShardContext.run(shard, this::drain);
+        }
+    }
+
+    private void drain() {
+        // Keep draining while batches come back full and clean; back off to the schedule otherwise
+        boolean more = true;
+        while (more) {
+            Boolean drainedFullBatch = transactionTemplate.execute(status -> publishBatch());
+            more = Boolean.TRUE.equals(drainedFullBatch);
+        }
+    }
+
+    private boolean publishBatch() {
+        List<Long> ids = outboxEventRepository.findIdsByStatus(OutboxStatus.PENDING, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return false;
+        }
+        List<OutboxEvent> batch = outboxEventRepository.lockForPublishing(ids, OutboxStatus.PENDING);
+        if (batch.isEmpty()) {
+            return false; // another instance holds these rows
+        }
+
+        long start = System.nanoTime();
+        List<ProducerRecord<String, byte[]>> records = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            records.add(kafkaEventProducer.record(event));
+        }
+
+        List<? extends CompletableFuture<?>> acks;
+        try {
+            acks = kafkaEventProducer.sendBatch(records);
+        } catch (RuntimeException e) {
+            // e.g. the Kafka transaction could not be committed - nothing in this batch counts as sent
+            acks = batch.stream().map(event -> CompletableFuture.failedFuture(e)).toList();
+        }
+
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(ackTimeoutMs);
+        LocalDateTime now = LocalDateTime.now();
+        int failures = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                acks.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                event.markPublished(now);
+            } catch (ExecutionException | TimeoutException e) {
+                failures++;
+                event.recordFailure(e.toString(), maxAttempts);
+                if (event.getStatus() == OutboxStatus.FAILED) {
+                    log.error("Outbox event {} for customer {} parked after {} attempts",
+                            event.getId(), event.getAggregateId(), event.getAttempts(), e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures++;
+                event.recordFailure("Interrupted while waiting for ack", maxAttempts);
+            }
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        publishedTotal.addAndGet(batch.size() - failures);
+        failedAttemptsTotal.addAndGet(failures);
+        batchesTotal.incrementAndGet();
+        lastBatchSize = batch.size();
+        lastBatchMillis = elapsedMillis;
+        Timer timer = batchTimer;
+        if (timer != null) {
+            timer.record(elapsedMillis, TimeUnit.MILLISECONDS);
+        }
+
+        if (failures > 0) {
+            log.warn("Outbox batch of {} published with {} failures in {} ms", batch.size(), failures, elapsedMillis);
+        } else {
+            log.debug("Outbox batch of {} published in {} ms", batch.size(), elapsedMillis);
+        }
+        return failures == 0 && batch.size() == batchSize;
+    }
+
+    // Counters read the existing totals; backlog/lag stay on /admin/outbox/stats (they cost a query)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("customer.outbox.published", publishedTotal, AtomicLong::get)
+                .description("Outbox events acknowledged by Kafka").register(registry);
+        FunctionCounter.builder("customer.outbox.failed.attempts", failedAttemptsTotal, AtomicLong::get)
+                .description("Outbox publish attempts that failed or timed out").register(registry);
+        batchTimer = Timer.builder("customer.outbox.batch")
+                .description("Outbox batch publish, send to last ack")
+                .register(registry);
+    }
+
+    public OutboxStatsResponse stats() {
+        LocalDateTime oldestPending = null;
+        long pending = 0;
+        long failed = 0;
+        for (int shard : shardRouter.allShards()) {
+            LocalDateTime shardOldest = ShardContext.on(shard,
+                    () -> outboxEventRepository.findOldestCreatedAt(OutboxStatus.PENDING));
+            if (shardOldest != null && (oldestPending == null || shardOldest.isBefore(oldestPending))) {
+                oldestPending = shardOldest;
+            }
+            pending += ShardContext.on(shard, () -> outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+            failed += ShardContext.on(shard, () -> outboxEventRepository.countByStatus(OutboxStatus.FAILED));
+        }
+        long lagMillis = oldestPending != null
+                ? Math.max(0, Duration.between(oldestPending, LocalDateTime.now()).toMillis())
+                : 0;
+        int size = lastBatchSize;
+        long millis = lastBatchMillis;
+
+        return OutboxStatsResponse.builder()
+                .pending(pending)
+                .failed(failed)
+                .oldestPendingAgeMs(lagMillis)
+                .publishedTotal(publishedTotal.get())
+                .failedAttemptsTotal(failedAttemptsTotal.get())
+                .batchesTotal(batchesTotal.get())
+                .lastBatchSize(size)
+                .lastBatchMillis(millis)
+                .publishRatePerSecond(millis > 0 ? size * 1000.0 / millis : 0)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.customerservice.kafka;
+
+import com.bank.customerservice.entity.OutboxEvent;
+import com.bank.customerservice.events.AccountCreationEvent;
+import com.bank.customerservice.events.codec.AccountCreationEventCodec;
+import com.bank.customerservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    public static final String ACCOUNT_CREATION_EVENT = "AccountCreationEvent";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AccountCreationEventCodec accountCreationEventCodec;
+
+    // MANDATORY: the event must commit or roll back together with the customer change that caused it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAccountCreation(Long customerId) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(customerId)
+                .eventType(ACCOUNT_CREATION_EVENT)
+                .topic(KafkaEventProducer.ACCOUNT_CREATION_TOPIC)
+                .contentType(accountCreationEventCodec.contentType())
+                .schemaVersion(accountCreationEventCodec.schemaVersion())
+                .payload(accountCreationEventCodec.encode(new AccountCreationEvent(customerId)))
+                .build());
+    }
+}
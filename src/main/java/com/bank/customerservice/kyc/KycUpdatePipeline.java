@@ -0,0 +1,291 @@
+package com.bank.customerservice.kyc;
+
+import com.bank.customerservice.dto.CustomerResponse;
+import com.bank.customerservice.dto.KycStatusUpdateRequest;
+import com.bank.customerservice.dto.KycUpdatePipelineStatsResponse;
+import com.bank.customerservice.dto.KycUpdateState;
+import com.bank.customerservice.dto.KycUpdateTicketResponse;
+import com.bank.customerservice.exception.ServiceUnavailableException;
+import com.bank.customerservice.service.CustomerService;
+import com.bank.customerservice.shard.ShardRouter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Accepts KYC status updates without holding the caller's thread through the DB write.
+// Updates are partitioned by customerId onto FIFO queues with one worker each, so updates
+// for a customer are applied in arrival order. A worker drains whatever is queued into a
+// batch, keeps the last update per customer and applies the batch in one transaction (one per shard).
+@Slf4j
+@Component
+public class KycUpdatePipeline implements MeterBinder {
+
+    // Oracle rejects IN lists longer than 1000 elements
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final long POLL_MILLIS = 200;
+
+    private final CustomerService customerService;
+    private final ShardRouter shardRouter;
+    private final List<BlockingQueue<PendingKycUpdate>> partitions;
+    private final int maxBatchSize;
+    private final Duration shutdownTimeout;
+    private final Cache<String, KycUpdateTicketResponse> tickets;
+    private final ExecutorService workers;
+    private volatile boolean running = true;
+
+    private final AtomicLong acceptedTotal = new AtomicLong();
+    private final AtomicLong appliedTotal = new AtomicLong();
+    private final AtomicLong supersededTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+    private final AtomicLong batchesTotal = new AtomicLong();
+    private final AtomicLong batchedUpdatesTotal = new AtomicLong();
+
+    // set once the registry binds us
+    private volatile DistributionSummary batchSizes;
+    private volatile Timer applyTimer;
+    private volatile Timer lagTimer;
+
+    public KycUpdatePipeline(CustomerService customerService,
+                             ShardRouter shardRouter,
+                             @Value("${customer.kyc-async.partitions:8}") int partitionCount,
+                             @Value("${customer.kyc-async.queue-capacity:10000}") int queueCapacity,
+                             @Value("${customer.kyc-async.max-batch-size:100}") int maxBatchSize,
+                             @Value("${customer.kyc-async.ticket-ttl:PT15M}") Duration ticketTtl,
+                             @Value("${customer.kyc-async.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.customerService = customerService;
+        this.shardRouter = shardRouter;
+        this.maxBatchSize = Math.min(Math.max(maxBatchSize, 1), MAX_BATCH_SIZE);
+        this.shutdownTimeout = shutdownTimeout;
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(Math.max(queueCapacity, 1) * (long) Math.max(partitionCount, 1) * 2)
+                .expireAfterWrite(ticketTtl)
+                .build();
+
+        int count = Math.max(partitionCount, 1);
+        this.partitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            partitions.add(new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)));
+        }
+        // Workers block on the queue and on JDBC - virtual threads keep that cheap
+        this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("kyc-apply-", 0).factory());
+        for (BlockingQueue<PendingKycUpdate> queue : partitions) {
+            workers.execute(() -> drain(queue));
+        }
+        log.info("KYC update pipeline started, partitions={} queueCapacity={} maxBatchSize={}",
+                count, queueCapacity, this.maxBatchSize);
+    }
+
+    public KycUpdateTicketResponse submit(Long customerId, KycStatusUpdateRequest request) {
+        KycUpdateTicketResponse ticket = KycUpdateTicketResponse.builder()
+                .ticketId(UUID.randomUUID().toString())
+                .customerId(customerId)
+                .kycStatus(request.getKycStatus())
+                .state(KycUpdateState.QUEUED)
+                .acceptedAt(LocalDateTime.now())
+                .build();
+        // Registered before the offer so a fast worker always finds the ticket to complete
+        tickets.put(ticket.getTicketId(), ticket);
+
+        PendingKycUpdate update = new PendingKycUpdate(ticket.getTicketId(), customerId, request, System.nanoTime());
+        if (!running || !partitionFor(customerId).offer(update)) {
+            tickets.invalidate(ticket.getTicketId());
+            throw new ServiceUnavailableException("KYC update queue is full - retry later");
+        }
+        acceptedTotal.incrementAndGet();
+        return ticket;
+    }
+
+    public Optional<KycUpdateTicketResponse> getTicket(String ticketId) {
+        return Optional.ofNullable(tickets.getIfPresent(ticketId));
+    }
+
+    private BlockingQueue<PendingKycUpdate> partitionFor(Long customerId) {
+        return partitions.get(Math.floorMod(Long.hashCode(customerId), partitions.size()));
+    }
+
+    // On shutdown the worker keeps going until its queue is empty, so accepted updates aren't dropped
+    private void drain(BlockingQueue<PendingKycUpdate> queue) {
+        List<PendingKycUpdate> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingKycUpdate first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                applyBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("KYC update batch of {} could not be completed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void applyBatch(List<PendingKycUpdate> batch) {
+        // Last write wins per customer - the queue is FIFO, so a later entry is the newer update
+        Map<Long, PendingKycUpdate> latest = new LinkedHashMap<>();
+        for (PendingKycUpdate update : batch) {
+            PendingKycUpdate replaced = latest.put(update.customerId(), update);
+            if (replaced != null) {
+                supersededTotal.incrementAndGet();
+                complete(replaced, KycUpdateState.SUPERSEDED, "Superseded by a later update in the same batch", null);
+            }
+        }
+        // A transaction covers one shard, so a batch is applied per shard (one group when unsharded).
+        // An id no shard issued is sent with shard 0's group and comes back as not found.
+        long start = System.nanoTime();
+        for (List<PendingKycUpdate> group : shardRouter.partition(latest.values(),
+                update -> Math.max(shardRouter.shardOfCustomer(update.customerId()), 0)).values()) {
+            applyGroup(group);
+        }
+        recordBatch(latest.size(), System.nanoTime() - start);
+    }
+
+    private void applyGroup(List<PendingKycUpdate> group) {
+        Map<Long, KycStatusUpdateRequest> requests = new LinkedHashMap<>();
+        group.forEach(update -> requests.put(update.customerId(), update.request()));
+
+        Map<Long, CustomerResponse> results;
+        Map<Long, String> failures = new HashMap<>();
+        try {
+            results = customerService.applyKycStatusUpdates(requests);
+        } catch (RuntimeException ex) {
+            // e.g. a synchronous update won the optimistic lock on one row - retry one customer per transaction
+            log.warn("KYC update batch of {} failed ({}), applying individually", requests.size(), ex.toString());
+            results = new HashMap<>();
+            for (PendingKycUpdate update : group) {
+                try {
+                    results.put(update.customerId(),
+                            customerService.updateKycStatus(update.customerId(), update.request()));
+                } catch (RuntimeException itemEx) {
+                    failures.put(update.customerId(), itemEx.getMessage());
+                }
+            }
+        }
+
+        for (PendingKycUpdate update : group) {
+            CustomerResponse result = results.get(update.customerId());
+            if (result != null) {
+                appliedTotal.incrementAndGet();
+                complete(update, KycUpdateState.APPLIED, result.getMessage(), result.getVersion());
+            } else {
+                failedTotal.incrementAndGet();
+                complete(update, KycUpdateState.FAILED,
+                        failures.getOrDefault(update.customerId(), "Customer not found"), null);
+            }
+        }
+    }
+
+    private void complete(PendingKycUpdate update, KycUpdateState state, String message, Long version) {
+        tickets.asMap().computeIfPresent(update.ticketId(), (id, ticket) -> ticket.toBuilder()
+                .state(state)
+                .message(message)
+                .version(version)
+                .completedAt(LocalDateTime.now())
+                .build());
+        Timer timer = lagTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - update.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordBatch(int size, long elapsedNanos) {
+        batchesTotal.incrementAndGet();
+        batchedUpdatesTotal.addAndGet(size);
+        DistributionSummary summary = batchSizes;
+        Timer timer = applyTimer;
+        if (summary != null && timer != null) {
+            summary.record(size);
+            timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int queueDepth() {
+        int depth = 0;
+        for (BlockingQueue<PendingKycUpdate> queue : partitions) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < partitions.size(); i++) {
+            Gauge.builder("customer.kyc.async.queue.depth", partitions.get(i), BlockingQueue::size)
+                    .description("Updates accepted but not yet applied")
+                    .tag("partition", String.valueOf(i))
+                    .register(registry);
+        }
+        FunctionCounter.builder("customer.kyc.async.accepted", acceptedTotal, AtomicLong::get)
+                .description("Updates accepted with 202").register(registry);
+        FunctionCounter.builder("customer.kyc.async.applied", appliedTotal, AtomicLong::get)
+                .description("Updates written to the database").register(registry);
+        FunctionCounter.builder("customer.kyc.async.superseded", supersededTotal, AtomicLong::get)
+                .description("Updates dropped in favour of a later one for the same customer").register(registry);
+        FunctionCounter.builder("customer.kyc.async.failed", failedTotal, AtomicLong::get)
+                .description("Updates that could not be applied").register(registry);
+        batchSizes = DistributionSummary.builder("customer.kyc.async.batch.size")
+                .description("Customers per applied batch, after last-write-wins coalescing")
+                .register(registry);
+        applyTimer = Timer.builder("customer.kyc.async.apply")
+                .description("Batch apply, one transaction per batch")
+                .register(registry);
+        lagTimer = Timer.builder("customer.kyc.async.lag")
+                .description("Acceptance to completion per update")
+                .register(registry);
+    }
+
+    public KycUpdatePipelineStatsResponse stats() {
+        long batches = batchesTotal.get();
+        return KycUpdatePipelineStatsResponse.builder()
+                .partitions(partitions.size())
+                .queueDepth(queueDepth())
+                .accepted(acceptedTotal.get())
+                .applied(appliedTotal.get())
+                .superseded(supersededTotal.get())
+                .failed(failedTotal.get())
+                .batches(batches)
+                .averageBatchSize(batches == 0 ? 0 : (double) batchedUpdatesTotal.get() / batches)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("KYC update pipeline stopped with {} updates still queued", queueDepth());
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.customerservice.kyc;
+
+import com.bank.customerservice.dto.KycStatusUpdateRequest;
+
+// One accepted update waiting in its partition queue
+record PendingKycUpdate(String ticketId, Long customerId, KycStatusUpdateRequest request, long enqueuedNanos) {
+}
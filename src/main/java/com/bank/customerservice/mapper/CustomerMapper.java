@@ -14,6 +14,7 @@ public interface CustomerMapper {
     @Mapping(target = "customerId", ignore = true)  // ID is auto-generated
     @Mapping(target = "kycStatus", ignore = true)   // Set in service
     @Mapping(target = "registeredAt", ignore = true) // Set in service
+    @Mapping(target = "version", ignore = true)      // Managed by Hibernate
     Customer toEntity(CustomerRegistrationRequest request);
 
     // Map from entity to response DTO
@@ -36,5 +37,6 @@ public interface CustomerMapper {
     @Mapping(target = "aadhaar", ignore = true)
     @Mapping(target = "kycStatus", ignore = true)
     @Mapping(target = "registeredAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(@MappingTarget Customer customer, CustomerRegistrationRequest request);
 }
\ No newline at end of file
@@ -1,9 +1,23 @@
 package com.bank.customerservice.repository;
 
 import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.entity.KycStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,10 +26,108 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     // ✅ Add these methods for userId-based operations
     Optional<Customer> findByUserId(Long userId);
     boolean existsByUserId(Long userId);
+    boolean existsByCustomerIdAndUserId(Long customerId, Long userId);
+
+    // Projections for the hot read paths - scalar results, no entity hydration or dirty-check snapshot
+    @Query("SELECT new com.bank.customerservice.repository.CustomerStatusView(c.customerId, c.userId, c.kycStatus, c.version) " +
+            "FROM Customer c WHERE c.customerId = :customerId")
+    Optional<CustomerStatusView> findStatusById(@Param("customerId") Long customerId);
+
+    @Query("SELECT c.customerId FROM Customer c WHERE c.userId = :userId")
+    Optional<Long> findCustomerIdByUserId(@Param("userId") Long userId);
+
+    // Batch lookups - callers chunk the id lists to stay under Oracle's 1000-element IN limit.
+    // Read-only so the coalesced loads, which run outside any service transaction, can use a replica.
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT c FROM Customer c WHERE c.customerId IN :customerIds")
+    List<Customer> findAllByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.bank.customerservice.repository.UserCustomerIdView(c.userId, c.customerId) " +
+            "FROM Customer c WHERE c.userId IN :userIds")
+    List<UserCustomerIdView> findCustomerIdsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Search index and uniqueness filter builds: keyset pages of six-column rows over an id range
+    @Query("SELECT MIN(c.customerId) FROM Customer c")
+    Long findMinCustomerId();
+
+    @Query("SELECT MAX(c.customerId) FROM Customer c")
+    Long findMaxCustomerId();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.bank.customerservice.repository.CustomerSearchRow(" +
+            "c.customerId, c.fullName, c.phone, c.email, c.pan, c.aadhaar) " +
+            "FROM Customer c WHERE c.customerId > :afterId AND c.customerId <= :toId ORDER BY c.customerId ASC")
+    List<CustomerSearchRow> findSearchRows(@Param("afterId") Long afterId, @Param("toId") Long toId, Limit limit);
+
+    // KYC verdict batches: lock the rows, then one set-based UPDATE per target status.
+    // Rows already in the target status are skipped, so a redelivered batch changes nothing.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.bank.customerservice.repository.CustomerStatusView(c.customerId, c.userId, c.kycStatus, c.version) " +
+            "FROM Customer c WHERE c.customerId IN :customerIds")
+    List<CustomerStatusView> lockStatusesByIds(@Param("customerIds") Collection<Long> customerIds);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.kycStatus = :kycStatus, c.version = c.version + 1 " +
+            "WHERE c.customerId IN :customerIds AND (c.kycStatus IS NULL OR c.kycStatus <> :kycStatus)")
+    int updateKycStatus(@Param("customerIds") Collection<Long> customerIds, @Param("kycStatus") KycStatus kycStatus);
 
     // Existing unique constraint checks
     boolean existsByPhone(String phone);
     boolean existsByEmail(String email);
     boolean existsByPan(String pan);
     boolean existsByAadhaar(String aadhaar);
-}
\ No newline at end of file
+
+    // Bulk unique constraint checks - one IN query per column instead of one query per row
+    @Query("SELECT c.userId FROM Customer c WHERE c.userId IN :userIds")
+    List<Long> findExistingUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT c.phone FROM Customer c WHERE c.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    @Query("SELECT c.email FROM Customer c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT c.pan FROM Customer c WHERE c.pan IN :pans")
+    List<String> findExistingPans(@Param("pans") Collection<String> pans);
+
+    @Query("SELECT c.aadhaar FROM Customer c WHERE c.aadhaar IN :aadhaars")
+    List<String> findExistingAadhaars(@Param("aadhaars") Collection<String> aadhaars);
+
+    // Keyset page: rows strictly after the cursor, ordered by customerId.
+    // Read-only hint skips the dirty-checking snapshot, fetch size keeps round-trips low.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500")
+    })
+    @Query("SELECT c FROM Customer c " +
+            "WHERE c.customerId > :afterId " +
+            "AND (:kycStatus IS NULL OR c.kycStatus = :kycStatus) " +
+            "AND (:registeredFrom IS NULL OR c.registeredAt >= :registeredFrom) " +
+            "AND (:registeredTo IS NULL OR c.registeredAt < :registeredTo) " +
+            "ORDER BY c.customerId ASC")
+    List<Customer> findPageAfter(@Param("afterId") Long afterId,
+                                 @Param("kycStatus") KycStatus kycStatus,
+                                 @Param("registeredFrom") LocalDateTime registeredFrom,
+                                 @Param("registeredTo") LocalDateTime registeredTo,
+                                 Limit limit);
+
+    // Same page with the status fixed: a plain equality lets the optimizer range-scan
+    // idx_customers_status_id in customer_id order instead of walking the primary key
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500")
+    })
+    @Query("SELECT c FROM Customer c " +
+            "WHERE c.kycStatus = :kycStatus " +
+            "AND c.customerId > :afterId " +
+            "AND (:registeredFrom IS NULL OR c.registeredAt >= :registeredFrom) " +
+            "AND (:registeredTo IS NULL OR c.registeredAt < :registeredTo) " +
+            "ORDER BY c.customerId ASC")
+    List<Customer> findPageByStatusAfter(@Param("kycStatus") KycStatus kycStatus,
+                                         @Param("afterId") Long afterId,
+                                         @Param("registeredFrom") LocalDateTime registeredFrom,
+                                         @Param("registeredTo") LocalDateTime registeredTo,
+                                         Limit limit);
+}
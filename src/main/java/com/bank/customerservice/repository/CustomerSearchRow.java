@@ -0,0 +1,6 @@
+package com.bank.customerservice.repository;
+
+// Searchable columns only - what the search index bootstrap needs per row
+public record CustomerSearchRow(Long customerId, String fullName, String phone, String email, String pan,
+                                String aadhaar) {
+}
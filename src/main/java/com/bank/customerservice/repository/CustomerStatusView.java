@@ -0,0 +1,7 @@
+package com.bank.customerservice.repository;
+
+import com.bank.customerservice.entity.KycStatus;
+
+// Status-only projection - built straight from the result set, never a managed Customer
+public record CustomerStatusView(Long customerId, Long userId, KycStatus kycStatus, Long version) {
+}
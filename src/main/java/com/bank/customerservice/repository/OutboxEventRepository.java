@@ -0,0 +1,36 @@
+package com.bank.customerservice.repository;
+
+import com.bank.customerservice.entity.OutboxEvent;
+import com.bank.customerservice.entity.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT o.id FROM OutboxEvent o WHERE o.status = :status ORDER BY o.id ASC")
+    List<Long> findIdsByStatus(@Param("status") OutboxStatus status, Limit limit);
+
+    // Oracle can't combine FOR UPDATE with row limiting, so ids are picked first and locked here.
+    // Lock timeout -2 = SKIP LOCKED: concurrent relays (other pods) simply take different rows.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxEvent o WHERE o.id IN :ids AND o.status = :status ORDER BY o.id ASC")
+    List<OutboxEvent> lockForPublishing(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEvent o WHERE o.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") OutboxStatus status);
+}
@@ -0,0 +1,5 @@
+package com.bank.customerservice.repository;
+
+// userId -> customerId pair for batch resolution
+public record UserCustomerIdView(Long userId, Long customerId) {
+}
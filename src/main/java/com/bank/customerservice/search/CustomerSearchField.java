@@ -0,0 +1,10 @@
+package com.bank.customerservice.search;
+
+public enum CustomerSearchField {
+    NAME,     // prefix of any word in fullName
+    EMAIL,    // prefix of the email address
+    PHONE,    // prefix of the phone digits
+    PAN,      // last 4 characters - the part left visible when masked
+    AADHAAR,  // last 4 digits
+    ANY       // NAME, EMAIL or PHONE; query-only, never stored in a key
+}
@@ -0,0 +1,266 @@
+package com.bank.customerservice.search;
+
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.exception.ServiceUnavailableException;
+import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.repository.CustomerSearchRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// In-process search over name, email, phone and PAN/Aadhaar suffixes for admin lookup.
+// Bootstrapped by a parallel range scan once the app is ready, kept current by index() from
+// the write paths, and rebuilt periodically to drop postings for values that have changed.
+// index() only sees this instance's writes: with several instances, a customer registered or
+// renamed on another one is found here only after the next rebuild (rebuild-interval-ms).
+@Slf4j
+@Component
+public class CustomerSearchIndex implements MeterBinder {
+
+    private static final int POSTINGS_PER_CUSTOMER = 6;
+
+    private final CustomerRepository customerRepository;
+    private final PrefixSearchIndex index;
+    private final int bootstrapThreads;
+    private final int pageSize;
+    private final boolean enabled;
+
+    // Merges and rebuilds run here one at a time
+    private final ExecutorService maintenance = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("customer-search-maintenance").daemon().factory());
+    private final AtomicBoolean mergeScheduled = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public CustomerSearchIndex(CustomerRepository customerRepository,
+                               @Value("${customer.search.enabled:true}") boolean enabled,
+                               @Value("${customer.search.bootstrap-threads:4}") int bootstrapThreads,
+                               @Value("${customer.search.page-size:5000}") int pageSize,
+                               @Value("${customer.search.merge-threshold:65536}") int mergeThreshold) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.bootstrapThreads = Math.max(bootstrapThreads, 1);
+        this.pageSize = Math.max(pageSize, 100);
+        this.index = new PrefixSearchIndex(Math.max(mergeThreshold, 1024));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (enabled) {
+            maintenance.execute(this::rebuild);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${customer.search.rebuild-interval-ms:900000}",
+            fixedDelayString = "${customer.search.rebuild-interval-ms:900000}")
+    public void scheduledRebuild() {
+        if (enabled && ready) {
+            maintenance.execute(this::rebuild);
+        }
+    }
+
+    public void index(Customer customer) {
+        if (!enabled) {
+            return;
+        }
+        boolean full = index.add(customer.getCustomerId(), customer.getFullName(), customer.getPhone(),
+                customer.getEmail(), customer.getPan(), customer.getAadhaar());
+        if (full && mergeScheduled.compareAndSet(false, true)) {
+            maintenance.execute(() -> {
+                try {
+                    index.merge();
+                } finally {
+                    mergeScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    // Candidate ids for the query, at most max; callers verify them with matches()
+    public long[] search(String query, CustomerSearchField field, int max) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Customer search index is not ready yet");
+        }
+        return switch (field) {
+            case NAME -> index.search(CustomerSearchField.NAME, mostSelectiveToken(SearchKeys.normalize(query)), max);
+            case EMAIL -> index.search(CustomerSearchField.EMAIL, SearchKeys.normalize(query), max);
+            case PHONE -> index.search(CustomerSearchField.PHONE, SearchKeys.digits(query), max);
+            case PAN -> index.search(CustomerSearchField.PAN, SearchKeys.suffix(SearchKeys.normalize(query)), max);
+            case AADHAAR -> index.search(CustomerSearchField.AADHAAR, SearchKeys.suffix(SearchKeys.digits(query)), max);
+            case ANY -> union(max,
+                    index.search(CustomerSearchField.NAME, mostSelectiveToken(SearchKeys.normalize(query)), max),
+                    index.search(CustomerSearchField.EMAIL, SearchKeys.normalize(query), max),
+                    SearchKeys.digits(query).isEmpty()
+                            ? new long[0]
+                            : index.search(CustomerSearchField.PHONE, SearchKeys.digits(query), max));
+        };
+    }
+
+    // The index only resolves 10 characters and keeps stale postings until a merge, so check the row itself
+    public static boolean matches(Customer customer, String query, CustomerSearchField field) {
+        return switch (field) {
+            case NAME -> nameMatches(customer.getFullName(), SearchKeys.normalize(query));
+            case EMAIL -> customer.getEmail() != null
+                    && SearchKeys.normalize(customer.getEmail()).startsWith(SearchKeys.normalize(query));
+            case PHONE -> phoneMatches(customer.getPhone(), SearchKeys.digits(query));
+            case PAN -> customer.getPan() != null
+                    && SearchKeys.normalize(customer.getPan()).endsWith(SearchKeys.normalize(query));
+            case AADHAAR -> customer.getAadhaar() != null
+                    && SearchKeys.digits(customer.getAadhaar()).endsWith(SearchKeys.digits(query));
+            case ANY -> matches(customer, query, CustomerSearchField.NAME)
+                    || matches(customer, query, CustomerSearchField.EMAIL)
+                    || (!SearchKeys.digits(query).isEmpty() && matches(customer, query, CustomerSearchField.PHONE));
+        };
+    }
+
+    private static boolean nameMatches(String fullName, String query) {
+        if (fullName == null) {
+            return false;
+        }
+        String[] nameTokens = SearchKeys.normalize(fullName).split("\\s+");
+        for (String queryToken : query.split("\\s+")) {
+            boolean found = false;
+            for (String nameToken : nameTokens) {
+                if (nameToken.startsWith(queryToken)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean phoneMatches(String phone, String digits) {
+        if (phone == null) {
+            return false;
+        }
+        String phoneDigits = SearchKeys.digits(phone);
+        return phoneDigits.startsWith(digits)
+                || (phoneDigits.length() > SearchKeys.MAX_CHARS
+                && phoneDigits.substring(phoneDigits.length() - SearchKeys.MAX_CHARS).startsWith(digits));
+    }
+
+    // Multi-word name queries look up the word with the fewest postings and check the rest on the row
+    private String mostSelectiveToken(String query) {
+        String best = null;
+        int bestCount = Integer.MAX_VALUE;
+        for (String token : query.split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int count = index.estimate(CustomerSearchField.NAME, token);
+            if (count < bestCount) {
+                best = token;
+                bestCount = count;
+            }
+        }
+        return best != null ? best : query;
+    }
+
+    private static long[] union(int max, long[]... parts) {
+        long[] out = new long[max];
+        int count = 0;
+        for (long[] part : parts) {
+            outer:
+            for (long id : part) {
+                if (count == max) {
+                    break;
+                }
+                for (int i = 0; i < count; i++) {
+                    if (out[i] == id) {
+                        continue outer;
+                    }
+                }
+                out[count++] = id;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    // Splits [min, max] into one id range per worker; each scans its range in keyset pages
+    private void rebuild() {
+        long start = System.nanoTime();
+        try {
+            Long minId = customerRepository.findMinCustomerId();
+            Long maxId = customerRepository.findMaxCustomerId();
+            SortedPostings base = SortedPostings.EMPTY;
+            if (minId != null) {
+                long span = maxId - minId + 1;
+                int workers = (int) Math.min(bootstrapThreads, span);
+                long step = (span + workers - 1) / workers;
+
+                ExecutorService scanners = Executors.newFixedThreadPool(workers,
+                        Thread.ofPlatform().name("customer-search-scan-", 0).daemon().factory());
+                try {
+                    List<Future<SortedPostings>> runs = new ArrayList<>(workers);
+                    for (long from = minId - 1; from < maxId; from += step) {
+                        long afterId = from;
+                        long toId = Math.min(from + step, maxId);
+                        runs.add(scanners.submit(() -> scan(afterId, toId)));
+                    }
+                    for (Future<SortedPostings> run : runs) {
+                        base = SortedPostings.merge(base, run.get());
+                    }
+                } finally {
+                    scanners.shutdownNow();
+                }
+            }
+            index.replaceBase(base);
+            ready = true;
+            log.info("Customer search index built: {} postings in {} ms",
+                    base.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Customer search index build failed, search stays on the previous index", e);
+        }
+    }
+
+    private SortedPostings scan(long afterId, long toId) {
+        SortedPostings.Builder builder = new SortedPostings.Builder(
+                (int) Math.min((toId - afterId) * POSTINGS_PER_CUSTOMER, 1 << 20));
+        long cursor = afterId;
+        while (true) {
+            List<CustomerSearchRow> page = customerRepository.findSearchRows(cursor, toId, Limit.of(pageSize));
+            for (CustomerSearchRow row : page) {
+                builder.add(row.customerId(), row.fullName(), row.phone(), row.email(), row.pan(), row.aadhaar());
+            }
+            if (page.size() < pageSize) {
+                return builder.build();
+            }
+            cursor = page.get(page.size() - 1).customerId();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("customer.search.postings", index, PrefixSearchIndex::basePostings)
+                .description("Postings in the sorted base").tag("segment", "base").register(registry);
+        Gauge.builder("customer.search.postings", index, PrefixSearchIndex::deltaPostings)
+                .description("Postings written since the last merge").tag("segment", "delta").register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintenance.shutdownNow();
+    }
+}
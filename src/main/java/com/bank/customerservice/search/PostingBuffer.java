@@ -0,0 +1,54 @@
+package com.bank.customerservice.search;
+
+import java.util.Arrays;
+
+// Unsorted append-only postings written since the last merge. Appends write past the
+// published size and then publish a new snapshot, so readers scan without locking.
+final class PostingBuffer {
+
+    record Snapshot(long[] keys, long[] ids, int size) {
+
+        int collect(long lo, long hi, long[] out, int count, int max) {
+            for (int i = size - 1; i >= 0 && count < max; i--) { // newest first
+                long key = keys[i];
+                if (key >= lo && key <= hi) {
+                    out[count++] = ids[i];
+                }
+            }
+            return count;
+        }
+    }
+
+    private long[] keys = new long[1024];
+    private long[] ids = new long[1024];
+    private int size;
+    private boolean closed;
+    private volatile Snapshot snapshot = new Snapshot(keys, ids, 0);
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    // false once the buffer has been handed to a merge - the caller retries on the new buffer
+    synchronized boolean add(long customerId, long[] newKeys, int count) {
+        if (closed) {
+            return false;
+        }
+        if (size + count > keys.length) {
+            int capacity = Math.max(size + count, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        for (int i = 0; i < count; i++) {
+            keys[size] = newKeys[i];
+            ids[size++] = customerId;
+        }
+        snapshot = new Snapshot(keys, ids, size);
+        return true;
+    }
+
+    synchronized Snapshot close() {
+        closed = true;
+        return snapshot;
+    }
+}
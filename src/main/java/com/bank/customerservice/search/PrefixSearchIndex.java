@@ -0,0 +1,98 @@
+package com.bank.customerservice.search;
+
+import java.util.Arrays;
+
+// Sorted base postings plus a small unsorted delta for writes since the last merge.
+// Results are candidates: a merge keeps every posting, so an updated customer can still be found
+// by its old values until the next rebuild. Callers check the loaded rows (see CustomerSearchIndex.matches).
+public class PrefixSearchIndex {
+
+    private record State(SortedPostings base, PostingBuffer.Snapshot merging) {
+    }
+
+    private final int mergeThreshold;
+    private volatile PostingBuffer delta = new PostingBuffer();
+    private volatile State state = new State(SortedPostings.EMPTY, null);
+
+    public PrefixSearchIndex(int mergeThreshold) {
+        this.mergeThreshold = mergeThreshold;
+    }
+
+    // Returns true once the delta has grown past the merge threshold
+    public boolean add(long customerId, String fullName, String phone, String email, String pan, String aadhaar) {
+        long[] keys = new long[SearchKeys.MAX_KEYS_PER_CUSTOMER];
+        int count = SearchKeys.keysFor(fullName, phone, email, pan, aadhaar, keys);
+        PostingBuffer buffer = delta;
+        while (!buffer.add(customerId, keys, count)) {
+            Thread.onSpinWait(); // a merge closed this buffer and is about to publish the next one
+            buffer = delta;
+        }
+        return buffer.snapshot().size() >= mergeThreshold;
+    }
+
+    // Distinct candidate ids whose term for field starts with prefix, newest postings first
+    public long[] search(CustomerSearchField field, String prefix, int max) {
+        if (prefix.isEmpty()) {
+            return new long[0]; // e.g. a phone search without digits - never the whole field
+        }
+        long lo = SearchKeys.lowerBound(field, prefix);
+        long hi = SearchKeys.upperBound(field, prefix);
+        long[] out = new long[max];
+
+        // delta before state: a merge publishes the new state before swapping the buffer
+        PostingBuffer.Snapshot recent = delta.snapshot();
+        State current = state;
+        int count = recent.collect(lo, hi, out, 0, max);
+        if (current.merging() != null) {
+            count = current.merging().collect(lo, hi, out, count, max);
+        }
+        count = current.base().collect(lo, hi, out, count, max);
+        return distinct(out, count);
+    }
+
+    // Base postings in the prefix range - two binary searches, used to pick the most selective word
+    public int estimate(CustomerSearchField field, String prefix) {
+        return state.base().count(SearchKeys.lowerBound(field, prefix), SearchKeys.upperBound(field, prefix));
+    }
+
+    private static long[] distinct(long[] ids, int count) {
+        long[] result = new long[count];
+        int n = 0;
+        outer:
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < n; j++) {
+                if (result[j] == ids[i]) {
+                    continue outer;
+                }
+            }
+            result[n++] = ids[i];
+        }
+        return n == count ? result : Arrays.copyOf(result, n);
+    }
+
+    // Folds the delta into the base. Callers serialize merges and replaceBase on one thread.
+    public void merge() {
+        PostingBuffer next = new PostingBuffer();
+        PostingBuffer.Snapshot frozen = delta.close();
+        SortedPostings base = state.base();
+        state = new State(base, frozen);
+        delta = next;
+
+        long[] keys = Arrays.copyOf(frozen.keys(), frozen.size());
+        long[] ids = Arrays.copyOf(frozen.ids(), frozen.size());
+        state = new State(SortedPostings.merge(base, SortedPostings.sort(keys, ids, keys.length)), null);
+    }
+
+    // Swaps in a freshly scanned base; postings written during the scan stay in the delta
+    public void replaceBase(SortedPostings base) {
+        state = new State(base, state.merging());
+    }
+
+    public int basePostings() {
+        return state.base().size();
+    }
+
+    public int deltaPostings() {
+        return delta.snapshot().size();
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.customerservice.search;
+
+import java.util.Locale;
+
+// Packs (field, first 10 chars of a term) into one non-negative long that sorts like the term:
+// bits 60-62 hold the field, then 6 bits per char with 0 as padding, so "ab" < "ab0" < "abc".
+// Every term starting with a prefix falls in [lowerBound, upperBound] of that prefix.
+public final class SearchKeys {
+
+    public static final int MAX_CHARS = 10;
+    public static final int SUFFIX_LENGTH = 4; // PAN / Aadhaar characters left visible when masked
+    public static final int MAX_KEYS_PER_CUSTOMER = 12;
+
+    private static final int BITS_PER_CHAR = 6;
+    private static final int FIELD_SHIFT = MAX_CHARS * BITS_PER_CHAR;
+    private static final int MAX_NAME_TOKENS = 6;
+
+    private SearchKeys() {
+    }
+
+    public static long lowerBound(CustomerSearchField field, String term) {
+        return key(field, term);
+    }
+
+    public static long upperBound(CustomerSearchField field, String term) {
+        int used = Math.min(term.length(), MAX_CHARS);
+        return key(field, term) | ((1L << (BITS_PER_CHAR * (MAX_CHARS - used))) - 1);
+    }
+
+    static long key(CustomerSearchField field, String term) {
+        long packed = 0;
+        int used = Math.min(term.length(), MAX_CHARS);
+        for (int i = 0; i < used; i++) {
+            packed = (packed << BITS_PER_CHAR) | code(term.charAt(i));
+        }
+        packed <<= BITS_PER_CHAR * (MAX_CHARS - used);
+        return ((long) field.ordinal() << FIELD_SHIFT) | packed;
+    }
+
+    // Terms are normalized before packing, so only lower-case letters, digits and email punctuation get their own code
+    private static int code(char c) {
+        if (c >= '0' && c <= '9') {
+            return 1 + (c - '0');
+        }
+        if (c >= 'a' && c <= 'z') {
+            return 11 + (c - 'a');
+        }
+        return switch (c) {
+            case '.' -> 37;
+            case '_' -> 38;
+            case '-' -> 39;
+            case '@' -> 40;
+            case '+' -> 41;
+            default -> 42;
+        };
+    }
+
+    // Writes every key a customer is findable by into out and returns how many were written
+    public static int keysFor(String fullName, String phone, String email, String pan, String aadhaar, long[] out) {
+        int n = 0;
+        if (fullName != null) {
+            int tokens = 0;
+            for (String token : normalize(fullName).split("\\s+")) {
+                if (!token.isEmpty() && tokens++ < MAX_NAME_TOKENS) {
+                    out[n++] = key(CustomerSearchField.NAME, token);
+                }
+            }
+        }
+        if (email != null) {
+            out[n++] = key(CustomerSearchField.EMAIL, normalize(email));
+        }
+        if (phone != null) {
+            String digits = digits(phone);
+            out[n++] = key(CustomerSearchField.PHONE, digits);
+            if (digits.length() > MAX_CHARS) {
+                // with a country code, the national number is what admins usually type
+                out[n++] = key(CustomerSearchField.PHONE, digits.substring(digits.length() - MAX_CHARS));
+            }
+        }
+        if (pan != null && pan.length() >= SUFFIX_LENGTH) {
+            out[n++] = key(CustomerSearchField.PAN, suffix(normalize(pan)));
+        }
+        if (aadhaar != null && aadhaar.length() >= SUFFIX_LENGTH) {
+            out[n++] = key(CustomerSearchField.AADHAAR, suffix(digits(aadhaar)));
+        }
+        return n;
+    }
+
+    public static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String digits(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    public static String suffix(String value) {
+        return value.length() <= SUFFIX_LENGTH ? value : value.substring(value.length() - SUFFIX_LENGTH);
+    }
+}
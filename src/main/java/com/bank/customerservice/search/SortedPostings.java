@@ -0,0 +1,178 @@
+package com.bank.customerservice.search;
+
+import java.util.Arrays;
+
+// Immutable (key, customerId) pairs in two parallel primitive arrays, sorted by key then id.
+// A prefix query is a binary search for the range start followed by a sequential scan.
+public final class SortedPostings {
+
+    public static final SortedPostings EMPTY = new SortedPostings(new long[0], new long[0], 0);
+
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    private final long[] keys;
+    private final long[] ids;
+    private final int size;
+
+    private SortedPostings(long[] keys, long[] ids, int size) {
+        this.keys = keys;
+        this.ids = ids;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Copies matching ids into out[count..max) and returns the new count
+    int collect(long lo, long hi, long[] out, int count, int max) {
+        for (int i = lowerBound(lo); i < size && keys[i] <= hi && count < max; i++) {
+            out[count++] = ids[i];
+        }
+        return count;
+    }
+
+    int count(long lo, long hi) {
+        return lowerBound(hi + 1) - lowerBound(lo); // keys never use the sign bit, so hi + 1 can't overflow
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static SortedPostings merge(SortedPostings a, SortedPostings b) {
+        if (b.size == 0) {
+            return a;
+        }
+        if (a.size == 0) {
+            return b;
+        }
+        long[] keys = new long[a.size + b.size];
+        long[] ids = new long[keys.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.size && j < b.size) {
+            if (compare(a.keys[i], a.ids[i], b.keys[j], b.ids[j]) <= 0) {
+                keys[n] = a.keys[i];
+                ids[n++] = a.ids[i++];
+            } else {
+                keys[n] = b.keys[j];
+                ids[n++] = b.ids[j++];
+            }
+        }
+        while (i < a.size) {
+            keys[n] = a.keys[i];
+            ids[n++] = a.ids[i++];
+        }
+        while (j < b.size) {
+            keys[n] = b.keys[j];
+            ids[n++] = b.ids[j++];
+        }
+        return new SortedPostings(keys, ids, n);
+    }
+
+    // Sorts the first size pairs in place and takes ownership of the arrays
+    static SortedPostings sort(long[] keys, long[] ids, int size) {
+        quickSort(keys, ids, 0, size - 1);
+        return new SortedPostings(keys, ids, size);
+    }
+
+    private static int compare(long keyA, long idA, long keyB, long idB) {
+        int byKey = Long.compare(keyA, keyB);
+        return byKey != 0 ? byKey : Long.compare(idA, idB);
+    }
+
+    // Arrays.sort can't carry a parallel array along, so a median-of-three quicksort on both.
+    // Recursing into the smaller side keeps the stack at O(log n).
+    private static void quickSort(long[] keys, long[] ids, int left, int right) {
+        while (right - left > INSERTION_SORT_THRESHOLD) {
+            int mid = (left + right) >>> 1;
+            if (compare(keys[mid], ids[mid], keys[left], ids[left]) < 0) swap(keys, ids, mid, left);
+            if (compare(keys[right], ids[right], keys[left], ids[left]) < 0) swap(keys, ids, right, left);
+            if (compare(keys[right], ids[right], keys[mid], ids[mid]) < 0) swap(keys, ids, right, mid);
+            long pivotKey = keys[mid];
+            long pivotId = ids[mid];
+
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (compare(keys[i], ids[i], pivotKey, pivotId) < 0) i++;
+                while (compare(keys[j], ids[j], pivotKey, pivotId) > 0) j--;
+                if (i <= j) {
+                    swap(keys, ids, i++, j--);
+                }
+            }
+            if (j - left < right - i) {
+                quickSort(keys, ids, left, j);
+                left = i;
+            } else {
+                quickSort(keys, ids, i, right);
+                right = j;
+            }
+        }
+        for (int i = left + 1; i <= right; i++) {
+            long key = keys[i];
+            long id = ids[i];
+            int j = i - 1;
+            while (j >= left && compare(keys[j], ids[j], key, id) > 0) {
+                keys[j + 1] = keys[j];
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            ids[j + 1] = id;
+        }
+    }
+
+    private static void swap(long[] keys, long[] ids, int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+
+    // Single-threaded accumulator for a bootstrap worker; build() sorts once at the end
+    public static final class Builder {
+
+        private final long[] scratch = new long[SearchKeys.MAX_KEYS_PER_CUSTOMER];
+        private long[] keys;
+        private long[] ids;
+        private int size;
+
+        public Builder(int expectedPostings) {
+            int capacity = Math.max(expectedPostings, 16);
+            this.keys = new long[capacity];
+            this.ids = new long[capacity];
+        }
+
+        public void add(long customerId, String fullName, String phone, String email, String pan, String aadhaar) {
+            int n = SearchKeys.keysFor(fullName, phone, email, pan, aadhaar, scratch);
+            if (size + n > keys.length) {
+                int capacity = Math.max(size + n, keys.length + (keys.length >> 1));
+                keys = Arrays.copyOf(keys, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+            }
+            for (int i = 0; i < n; i++) {
+                keys[size] = scratch[i];
+                ids[size++] = customerId;
+            }
+        }
+
+        public SortedPostings build() {
+            return size == 0 ? EMPTY : sort(keys, ids, size);
+        }
+    }
+}
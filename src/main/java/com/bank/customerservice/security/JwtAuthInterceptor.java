@@ -1,21 +1,49 @@
 package com.bank.customerservice.security;
 
 import com.bank.customerservice.util.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
 @Component
-@RequiredArgsConstructor
 public class JwtAuthInterceptor implements HandlerInterceptor {
 
     private final JwtUtils jwtUtils;
-    private static final ThreadLocal<AuthenticatedUser> userHolder = new ThreadLocal<>();
+
+    // Registered once - recording is a nanoTime delta, no per-request allocation
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+
+    public JwtAuthInterceptor(JwtUtils jwtUtils, MeterRegistry meterRegistry) {
+        this.jwtUtils = jwtUtils;
+        this.validTokenTimer = verifyTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verifyTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("customer.jwt.verify")
+                .description("JWT verification, including verified-token cache hits")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // The user travels with the request itself, not the thread - safe when requests run on virtual threads
+    public static final String CURRENT_USER_ATTRIBUTE = JwtAuthInterceptor.class.getName() + ".CURRENT_USER";
 
     public static AuthenticatedUser getCurrentUser() {
-        return userHolder.get();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (AuthenticatedUser) attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
     }
 
     @Override
@@ -29,9 +57,13 @@ public class JwtAuthInterceptor implements HandlerInterceptor {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtils.validateToken(token)) {
-                AuthenticatedUser user = jwtUtils.extractUser(token);
-                userHolder.set(user);
+            // Verify once and extract from the same parse (served from the verified-token cache when warm)
+            long start = System.nanoTime();
+            Optional<AuthenticatedUser> user = jwtUtils.verify(token);
+            (user.isPresent() ? validTokenTimer : invalidTokenTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (user.isPresent()) {
+                request.setAttribute(CURRENT_USER_ATTRIBUTE, user.get());
                 return true;
             }
         }
@@ -40,9 +72,4 @@ public class JwtAuthInterceptor implements HandlerInterceptor {
         response.getWriter().write("Unauthorized or invalid token");
         return false;
     }
-
-    @Override
-    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
-        userHolder.remove();
-    }
 }
\ No newline at end of file
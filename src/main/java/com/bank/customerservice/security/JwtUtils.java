@@ -1,6 +1,12 @@
 package com.bank.customerservice.security;
 
 import com.bank.customerservice.util.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -8,20 +14,94 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
 
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    @Value("${jwt.expiration-ms}")
+    private long jwtExpirationMs;
+
+    @Value("${jwt.cache.max-size:50000}")
+    private long verifiedCacheMaxSize;
+
     private Key signingKey;
 
+    // JwtParser is immutable and thread-safe - build it once instead of per call
+    private JwtParser parser;
+
+    // SHA-256(token) -> verified user, each entry expiring at the token's own exp
+    private Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    private record VerifiedToken(AuthenticatedUser user, long expiresAtMillis) {
+    }
+
     @PostConstruct
     public void init() {
         this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwtVerifiedTokens");
+    }
+
+    // Single verify-and-extract path: one signature check per token until it expires
+    public Optional<AuthenticatedUser> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return Optional.of(cached.user());
+        }
+
+        try {
+            Claims claims = getClaims(token);
+            AuthenticatedUser user = toUser(claims);
+            verifiedTokens.put(key, new VerifiedToken(user, expiresAt(claims)));
+            return Optional.of(user);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public boolean validateToken(String token) {
@@ -34,20 +114,34 @@ public class JwtUtils {
     }
 
     public Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public AuthenticatedUser extractUser(String token) {
-        Claims claims = getClaims(token);
+        return toUser(getClaims(token));
+    }
 
+    private AuthenticatedUser toUser(Claims claims) {
         return AuthenticatedUser.builder()
                 .userId(Long.parseLong(claims.getSubject()))
                 .role(claims.get("role", String.class))
                 .username(claims.get("username", String.class))
                 .build();
     }
-}
\ No newline at end of file
+
+    // Tokens without exp are cached no longer than the configured token lifetime
+    private long expiresAt(Claims claims) {
+        Date expiration = claims.getExpiration();
+        long cap = System.currentTimeMillis() + jwtExpirationMs;
+        return expiration != null ? Math.min(expiration.getTime(), cap) : cap;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.customerservice.service;
+
+import com.bank.customerservice.dto.BulkRegistrationItem;
+import com.bank.customerservice.dto.BulkRegistrationResponse;
+
+import java.util.Iterator;
+
+public interface CustomerBulkRegistrationService {
+
+    // Registers rows in chunks; each chunk is checked for uniqueness in bulk and inserted with JDBC batching.
+    // If next() throws BadRequestException for a row it cannot parse, that row is reported FAILED and reading goes on.
+    BulkRegistrationResponse register(Iterator<BulkRegistrationItem> items);
+}
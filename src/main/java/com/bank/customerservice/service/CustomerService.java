@@ -2,7 +2,12 @@ package com.bank.customerservice.service;
 
 import com.bank.customerservice.dto.*;
 import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.entity.KycStatus;
+import com.bank.customerservice.search.CustomerSearchField;
+import com.bank.customerservice.util.AuthenticatedUser;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface CustomerService {
 
@@ -12,14 +17,41 @@ public interface CustomerService {
     // Existing methods
     CustomerResponse getById(Long customerId);
     CustomerResponse update(Long customerId, CustomerUpdateRequest request);
-    CustomerResponse getStatus(Long customerId);
-    List<CustomerResponse> getAllCustomers();
+    CustomerStatusResponse getStatus(Long customerId);
+    // Admin search backed by the in-memory index; results are checked against the current rows
+    List<CustomerResponse> searchCustomers(String query, CustomerSearchField field, int limit);
+    CustomerPageResponse getCustomersPage(Long afterId, int limit, CustomerListFilter filter);
+    void streamCustomers(CustomerListFilter filter, Consumer<List<CustomerResponse>> pageConsumer);
     CustomerResponse getCustomerById(Long customerId);
     CustomerResponse updateKycStatus(Long customerId, KycStatusUpdateRequest request);
+    // expectedVersion from If-Match, null for an unconditional update
+    CustomerResponse updateKycStatus(Long customerId, KycStatusUpdateRequest request, Long expectedVersion);
+    // Applies one update per customer in a single transaction; missing customers are left out of the result
+    Map<Long, CustomerResponse> applyKycStatusUpdates(Map<Long, KycStatusUpdateRequest> updates);
+    // Kafka verdicts: set-based update per status, idempotent on redelivery
+    KycVerdictBatchResult applyKycVerdicts(Map<Long, KycStatus> verdicts);
+
+    // Ownership-aware variants: authorize and fetch with a single lookup
+    CustomerResponse getById(Long customerId, AuthenticatedUser requester);
+    CustomerStatusResponse getStatus(Long customerId, AuthenticatedUser requester);
+    CustomerResponse update(Long customerId, CustomerUpdateRequest request, AuthenticatedUser requester,
+                            Long expectedVersion);
+    boolean isOwnedBy(Long customerId, Long userId);
+
+    // Batch lookups for downstream services - chunked IN queries, per-item authorization
+    BatchGetResponse batchGet(List<Long> customerIds, AuthenticatedUser requester);
+    UserIdResolveResponse resolveCustomerIds(List<Long> userIds, AuthenticatedUser requester);
+
+    // Pre-registration check of phone/email/PAN/Aadhaar - most answers come from the Bloom filters
+    UniquenessCheckResponse checkUniqueness(UniquenessCheckRequest request);
 
     // NEW: User-Customer resolution methods for KYC authorization
     Long getCustomerIdByUserId(Long userId);
     Customer getCustomerByUserId(Long userId);
     boolean existsByUserId(Long userId);
     Customer getCustomerEntity(Long customerId);
+
+    // Cache observability
+    List<CacheStatsResponse> getCacheStats();
+    List<CoalescingStatsResponse> getLookupStats();
 }
\ No newline at end of file
@@ -0,0 +1,293 @@
+package com.bank.customerservice.service.impl;
+
+import com.bank.customerservice.datasource.ReadYourWrites;
+import com.bank.customerservice.dto.*;
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.entity.KycStatus;
+import com.bank.customerservice.exception.BadRequestException;
+import com.bank.customerservice.exception.ConflictException;
+import com.bank.customerservice.exception.UniqueConstraintViolations;
+import com.bank.customerservice.mapper.CustomerMapper;
+import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.search.CustomerSearchIndex;
+import com.bank.customerservice.service.CustomerBulkRegistrationService;
+import com.bank.customerservice.shard.CustomerKeyDirectory;
+import com.bank.customerservice.shard.ShardRouter;
+import com.bank.customerservice.uniqueness.CustomerUniquenessFilter;
+import com.bank.customerservice.uniqueness.UniqueField;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerBulkRegistrationServiceImpl implements CustomerBulkRegistrationService {
+
+    // Oracle rejects IN lists longer than 1000 elements
+    private static final int MAX_CHUNK_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ReadYourWrites readYourWrites;
+    private final ShardRouter shardRouter;
+    private final CustomerKeyDirectory keyDirectory;
+    private final CustomerUniquenessFilter uniquenessFilter;
+
+    @Value("${customer.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${customer.bulk.max-rows:50000}")
+    private int maxRows;
+
+    @Override
+    public BulkRegistrationResponse register(Iterator<BulkRegistrationItem> items) {
+        int size = Math.min(Math.max(chunkSize, 1), MAX_CHUNK_SIZE);
+        List<BulkRegistrationResult> results = new ArrayList<>();
+        List<BulkRegistrationItem> chunk = new ArrayList<>(size);
+        int index = 0;
+        boolean truncated = false;
+
+        while (items.hasNext()) {
+            if (index == maxRows) {
+                truncated = true; // Stop reading; rows past the limit are neither parsed nor inserted
+                break;
+            }
+            BulkRegistrationItem item;
+            try {
+                item = items.next();
+            } catch (BadRequestException ex) {
+                // A row the reader could not parse: rows before it are registered first so results stay in order
+                if (!chunk.isEmpty()) {
+                    results.addAll(registerChunk(chunk, index - chunk.size()));
+                    chunk.clear();
+                }
+                results.add(rejected(index, null, BulkRegistrationStatus.FAILED, ex.getMessage()));
+                index++;
+                continue;
+            }
+            chunk.add(item);
+            index++;
+            if (chunk.size() == size) {
+                results.addAll(registerChunk(chunk, index - chunk.size()));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(registerChunk(chunk, index - chunk.size()));
+        }
+
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkRegistrationStatus.CREATED)
+                .count();
+        log.info("Bulk registration finished: {} rows, {} created, truncated={}", results.size(), created, truncated);
+
+        return BulkRegistrationResponse.builder()
+                .total(results.size())
+                .created(created)
+                .rejected(results.size() - created)
+                .truncated(truncated)
+                .results(results)
+                .build();
+    }
+
+    private List<BulkRegistrationResult> registerChunk(List<BulkRegistrationItem> chunk, int baseIndex) {
+        BulkRegistrationResult[] results = new BulkRegistrationResult[chunk.size()];
+
+        // 1. Bean validation and duplicates inside the upload itself
+        Set<Long> userIds = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> pans = new HashSet<>();
+        Set<String> aadhaars = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkRegistrationItem item = chunk.get(i);
+            String violation = validate(item);
+            if (violation != null) {
+                results[i] = rejected(baseIndex + i, item, BulkRegistrationStatus.INVALID, violation);
+                continue;
+            }
+
+            CustomerRegistrationRequest customer = item.getCustomer();
+            String duplicateField = userIds.contains(item.getUserId()) ? "userId"
+                    : phones.contains(customer.getPhone()) ? "phone"
+                    : emails.contains(customer.getEmail()) ? "email"
+                    : pans.contains(customer.getPan()) ? "pan"
+                    : aadhaars.contains(customer.getAadhaar()) ? "aadhaar"
+                    : null;
+            if (duplicateField != null) {
+                results[i] = rejected(baseIndex + i, item, BulkRegistrationStatus.DUPLICATE,
+                        "Duplicate " + duplicateField + " within upload");
+                continue;
+            }
+
+            userIds.add(item.getUserId());
+            phones.add(customer.getPhone());
+            emails.add(customer.getEmail());
+            pans.add(customer.getPan());
+            aadhaars.add(customer.getAadhaar());
+            candidates.add(i);
+        }
+
+        // 2. One IN query per unique column for the whole chunk
+        if (!candidates.isEmpty()) {
+            Set<Long> existingUserIds = new HashSet<>(customerRepository.findExistingUserIds(userIds));
+            // Values the Bloom filters rule out are left out of the IN lists; usually that is all of them
+            Set<String> existingPhones = new HashSet<>(
+                    uniquenessFilter.existing(UniqueField.PHONE, phones, customerRepository::findExistingPhones));
+            Set<String> existingEmails = new HashSet<>(
+                    uniquenessFilter.existing(UniqueField.EMAIL, emails, customerRepository::findExistingEmails));
+            Set<String> existingPans = new HashSet<>(
+                    uniquenessFilter.existing(UniqueField.PAN, pans, customerRepository::findExistingPans));
+            Set<String> existingAadhaars = new HashSet<>(
+                    uniquenessFilter.existing(UniqueField.AADHAAR, aadhaars, customerRepository::findExistingAadhaars));
+
+            Iterator<Integer> it = candidates.iterator();
+            while (it.hasNext()) {
+                int i = it.next();
+                BulkRegistrationItem item = chunk.get(i);
+                CustomerRegistrationRequest customer = item.getCustomer();
+                String existingField = existingUserIds.contains(item.getUserId()) ? "userId"
+                        : existingPhones.contains(customer.getPhone()) ? "phone"
+                        : existingEmails.contains(customer.getEmail()) ? "email"
+                        : existingPans.contains(customer.getPan()) ? "pan"
+                        : existingAadhaars.contains(customer.getAadhaar()) ? "aadhaar"
+                        : null;
+                if (existingField != null) {
+                    results[i] = rejected(baseIndex + i, item, BulkRegistrationStatus.DUPLICATE,
+                            "Customer with this " + existingField + " already exists");
+                    it.remove();
+                }
+            }
+        }
+
+        // 3. Insert the survivors in one transaction per shard; Hibernate groups them into JDBC batches
+        if (!candidates.isEmpty()) {
+            for (List<Integer> group : shardRouter.partition(candidates,
+                    i -> shardRouter.shardOfUser(chunk.get(i).getUserId())).values()) {
+                insertGroup(chunk, baseIndex, group, results);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    // A conflict fails the whole group's claim or transaction, so the group is retried row by row:
+    // only rows that still conflict on their own are rejected, the rest are inserted.
+    private void insertGroup(List<BulkRegistrationItem> chunk, int baseIndex, List<Integer> group,
+                             BulkRegistrationResult[] results) {
+        String conflict = tryInsert(chunk, baseIndex, group, results);
+        if (conflict == null) {
+            return;
+        }
+        if (group.size() == 1) {
+            int i = group.get(0);
+            results[i] = "unique field".equals(conflict)
+                    ? rejected(baseIndex + i, chunk.get(i), BulkRegistrationStatus.FAILED,
+                            "Conflicting unique field registered concurrently - retry this row")
+                    : rejected(baseIndex + i, chunk.get(i), BulkRegistrationStatus.DUPLICATE,
+                            UniqueConstraintViolations.messageFor(conflict));
+            return;
+        }
+        log.warn("Bulk chunk at index {} hit a unique constraint on {}, retrying {} rows one by one",
+                baseIndex, conflict, group.size());
+        for (int i : group) {
+            insertGroup(chunk, baseIndex, List.of(i), results);
+        }
+    }
+
+    // Inserts the group in one transaction; returns null once committed, else the conflicting field
+    private String tryInsert(List<BulkRegistrationItem> chunk, int baseIndex, List<Integer> group,
+                             BulkRegistrationResult[] results) {
+        List<Customer> toInsert = new ArrayList<>(group.size());
+        List<CustomerKeyDirectory.Key> keys = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i : group) {
+            Customer customer = customerMapper.toEntity(chunk.get(i).getCustomer());
+            customer.setUserId(chunk.get(i).getUserId());
+            customer.setKycStatus(KycStatus.PENDING);
+            customer.setRegisteredAt(now);
+            toInsert.add(customer);
+            keys.addAll(CustomerKeyDirectory.keysOf(customer.getUserId(), customer.getPhone(), customer.getEmail(),
+                    customer.getPan(), customer.getAadhaar()));
+        }
+
+        // Sharded only: claim the group's unique keys across shards first (no-op otherwise)
+        try {
+            keyDirectory.reserve(keys, shardRouter.shardOfUser(toInsert.get(0).getUserId()));
+        } catch (ConflictException ex) {
+            return ex.getField();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                customerRepository.saveAll(toInsert);
+                customerRepository.flush();
+                entityManager.clear(); // Don't keep the chunk in the (possibly request-scoped) persistence context
+            });
+        } catch (DataIntegrityViolationException ex) {
+            keyDirectory.release(keys);
+            // Another writer inserted a conflicting row between the check and the insert
+            return UniqueConstraintViolations.conflictingField(ex).orElse("unique field");
+        } catch (RuntimeException ex) {
+            keyDirectory.release(keys);
+            throw ex;
+        }
+
+        toInsert.forEach(customerSearchIndex::index);
+        uniquenessFilter.addAll(toInsert);
+        toInsert.forEach(customer -> readYourWrites.recordWrite(customer.getCustomerId(), customer.getUserId()));
+        for (int n = 0; n < group.size(); n++) {
+            int i = group.get(n);
+            results[i] = BulkRegistrationResult.builder()
+                    .index(baseIndex + i)
+                    .userId(chunk.get(i).getUserId())
+                    .status(BulkRegistrationStatus.CREATED)
+                    .customerId(toInsert.get(n).getCustomerId())
+                    .message("Customer registered successfully")
+                    .build();
+        }
+        return null;
+    }
+
+    private String validate(BulkRegistrationItem item) {
+        if (item == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<BulkRegistrationItem>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BulkRegistrationResult rejected(int index, BulkRegistrationItem item,
+                                                   BulkRegistrationStatus status, String message) {
+        return BulkRegistrationResult.builder()
+                .index(index)
+                .userId(item != null ? item.getUserId() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
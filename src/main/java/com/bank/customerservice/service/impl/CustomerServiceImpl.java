@@ -1,24 +1,51 @@
 package com.bank.customerservice.service.impl;
 
+import com.bank.customerservice.cache.CustomerCache;
+import com.bank.customerservice.cache.CustomerCacheEntry;
+import com.bank.customerservice.cache.CustomerLookupCoalescer;
+import com.bank.customerservice.datasource.ReadYourWrites;
 import com.bank.customerservice.dto.*;
 import com.bank.customerservice.entity.Customer;
 import com.bank.customerservice.entity.KycStatus;
-import com.bank.customerservice.events.AccountCreationEvent;
+import com.bank.customerservice.events.KycStatusChangedEvent;
+import com.bank.customerservice.exception.BadRequestException;
+import com.bank.customerservice.exception.PreconditionFailedException;
 import com.bank.customerservice.exception.ResourceNotFoundException;
-import com.bank.customerservice.kafka.KafkaEventProducer;
+import com.bank.customerservice.exception.UniqueConstraintViolations;
+import com.bank.customerservice.kafka.CustomerChangeBroadcaster;
+import com.bank.customerservice.kafka.OutboxWriter;
 import com.bank.customerservice.mapper.CustomerMapper;
 import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.repository.CustomerStatusView;
+import com.bank.customerservice.repository.UserCustomerIdView;
+import com.bank.customerservice.search.CustomerSearchField;
+import com.bank.customerservice.search.CustomerSearchIndex;
+import com.bank.customerservice.search.SearchKeys;
 import com.bank.customerservice.service.CustomerService;
+import com.bank.customerservice.shard.CustomerKeyDirectory;
+import com.bank.customerservice.shard.ShardRouter;
+import com.bank.customerservice.uniqueness.CustomerUniquenessFilter;
+import com.bank.customerservice.uniqueness.UniqueField;
+import com.bank.customerservice.util.AuthenticatedUser;
+import com.bank.customerservice.util.LogSampler;
+import com.bank.customerservice.util.PiiMasker;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Slf4j
 @Service
@@ -26,10 +53,34 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    // Over-fetch candidates so stale postings (values changed since the last merge) don't shrink the page
+    private static final int SEARCH_CANDIDATE_FACTOR = 4;
+    private static final int MIN_SEARCH_LENGTH = 2;
+    private static final int STREAM_PAGE_SIZE = 500;
+    // Ids per IN query for batch lookups - well under Oracle's 1000-element limit
+    private static final int BATCH_CHUNK_SIZE = 500;
+
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
-    private final KafkaEventProducer kafkaEventProducer;
-    private final ObjectMapper objectMapper;
+    private final OutboxWriter outboxWriter;
+    private final EntityManager entityManager;
+    private final CustomerCache customerCache;
+    private final CustomerLookupCoalescer lookupCoalescer;
+    private final LogSampler logSampler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ReadYourWrites readYourWrites;
+    private final ShardRouter shardRouter;
+    private final CustomerKeyDirectory keyDirectory;
+    private final CustomerUniquenessFilter uniquenessFilter;
+    private final CustomerChangeBroadcaster changeBroadcaster;
+
+    @Value("${customer.batch.max-ids:500}")
+    private int batchMaxIds;
 
     // ❌ REMOVE THIS MANUAL CONSTRUCTOR - @RequiredArgsConstructor handles this automatically
     // public CustomerServiceImpl(CustomerRepository customerRepository, CustomerMapper customerMapper) {
@@ -39,73 +90,407 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     public CustomerResponse register(CustomerRegistrationRequest request, Long userId) {
-        // ✅ Check if user already has a customer record
-        if (customerRepository.existsByUserId(userId)) {
-            throw new IllegalStateException("Customer already exists for this user");
-        }
-
-        System.out.println(">>> REQUEST DATA:");
-        System.out.println(">>> Request FullName = " + request.getFullName());
-        System.out.println(">>> Request Phone    = " + request.getPhone());
-        System.out.println(">>> Request Aadhaar  = " + request.getAadhaar());
-        System.out.println(">>> JWT UserId       = " + userId); // ✅ Add this log
-
         Customer customer = customerMapper.toEntity(request);
 
         // 🔑 SET THE USER ID from JWT token
         customer.setUserId(userId);
 
-        System.out.println(">>> MAPPED CUSTOMER: " + customer);
-        System.out.println(">>> Full Name = " + customer.getFullName());
-        System.out.println(">>> Phone     = " + customer.getPhone());
-        System.out.println(">>> Aadhaar   = " + customer.getAadhaar());
-        System.out.println(">>> User ID   = " + customer.getUserId()); // ✅ Add this log
+        // Sampled, masked debug output - never the raw Aadhaar/PAN/phone
+        if (log.isDebugEnabled() && logSampler.sample()) {
+            log.debug("Registering customer userId={} phone={} email={} pan={} aadhaar={}",
+                    userId,
+                    PiiMasker.maskPhone(request.getPhone()),
+                    PiiMasker.maskEmail(request.getEmail()),
+                    PiiMasker.maskPan(request.getPan()),
+                    PiiMasker.maskAadhaar(request.getAadhaar()));
+        }
 
         customer.setKycStatus(KycStatus.PENDING);
         customer.setRegisteredAt(LocalDateTime.now());
-        Customer saved = customerRepository.save(customer);
+
+        // Sharded: claim the unique values across all shards first (released again if this transaction rolls back)
+        keyDirectory.reserve(CustomerKeyDirectory.keysOf(userId, customer.getPhone(), customer.getEmail(),
+                customer.getPan(), customer.getAadhaar()), shardRouter.shardOfUser(userId));
+
+        // ✅ Single insert - uniqueness (incl. one customer per user) is enforced by the unique constraints
+        Customer saved;
+        try {
+            saved = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            throw UniqueConstraintViolations.translate(ex);
+        }
+        customerSearchIndex.index(saved);
+        uniquenessFilter.add(saved);
+        readYourWrites.recordWrite(saved.getCustomerId(), userId);
         return customerMapper.toDto(saved, "Customer registered successfully");
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CustomerResponse getById(Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + customerId));
-        return customerMapper.toDto(customer);
+        return loadCached(customerId, "Customer not found with id: " + customerId).response();
     }
 
     @Override
     public CustomerResponse update(Long customerId, CustomerUpdateRequest request) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + customerId));
+        return applyUpdate(customer, request, null);
+    }
+
+    @Override
+    public CustomerResponse update(Long customerId, CustomerUpdateRequest request, AuthenticatedUser requester,
+                                   Long expectedVersion) {
+        // The row we are about to update already carries the owner - no separate ownership query
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+        checkAccess(customer.getUserId(), requester);
+        return applyUpdate(customer, request, expectedVersion);
+    }
 
+    private CustomerResponse applyUpdate(Customer customer, CustomerUpdateRequest request, Long expectedVersion) {
+        checkVersion(customer, expectedVersion);
+        String previousEmail = customer.getEmail();
+        if (!Objects.equals(previousEmail, request.getEmail())) {
+            // Sharded: the new address must be free on every shard; the old one is freed once this commits
+            keyDirectory.reserve(List.of(emailKey(request.getEmail())), shardRouter.shardOfCustomer(customer.getCustomerId()));
+            keyDirectory.releaseAfterCommit(List.of(emailKey(previousEmail)));
+        }
         customer.setFullName(request.getFullName());
         customer.setEmail(request.getEmail());
         customer.setAddress(request.getAddress());
 
-        Customer updated = customerRepository.save(customer);
+        Customer updated = saveVersioned(customer, expectedVersion); // email is unique - surface clashes as 409
+        afterWrite(updated.getCustomerId(), updated.getUserId());
+        customerSearchIndex.index(updated); // old name/email postings stay until the next rebuild; matches() filters them out
+        uniquenessFilter.add(updated);      // the old email stays a (false) "maybe" until the next rebuild
         return customerMapper.toDto(updated, "Customer updated successfully");
     }
 
+    private static CustomerKeyDirectory.Key emailKey(String email) {
+        return new CustomerKeyDirectory.Key(CustomerKeyDirectory.KeyType.EMAIL, email);
+    }
+
+    // If-Match: the client's copy must still be current before we touch the row
+    private static void checkVersion(Customer customer, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(customer.getVersion())) {
+            throw new PreconditionFailedException("Customer " + customer.getCustomerId()
+                    + " is at version " + customer.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    // Flush now so unique and @Version conflicts surface here and not at commit
+    private Customer saveVersioned(Customer customer, Long expectedVersion) {
+        try {
+            return customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            throw UniqueConstraintViolations.translate(ex);
+        } catch (OptimisticLockingFailureException ex) {
+            // Someone else committed between our read and our write
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException("Customer " + customer.getCustomerId()
+                        + " was modified concurrently");
+            }
+            throw ex;
+        }
+    }
+
     @Override
-    public CustomerResponse getStatus(Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + customerId));
-        return customerMapper.toDto(customer);
+    @Transactional(readOnly = true)
+    public CustomerStatusResponse getStatus(Long customerId) {
+        return loadStatus(customerId, "Customer not found with id: " + customerId).response();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CustomerResponse getById(Long customerId, AuthenticatedUser requester) {
+        CustomerCacheEntry entry = loadCached(customerId, "Customer not found");
+        checkAccess(entry.userId(), requester);
+        return entry.response();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerStatusResponse getStatus(Long customerId, AuthenticatedUser requester) {
+        StatusLookup status = loadStatus(customerId, "Customer not found");
+        checkAccess(status.userId(), requester);
+        return status.response();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isOwnedBy(Long customerId, Long userId) {
+        CustomerCacheEntry cached = customerCache.get(customerId);
+        if (cached != null) {
+            return cached.userId().equals(userId);
+        }
+        // userId is unique, so a cached binding to any customerId answers the question
+        Long boundCustomerId = customerCache.getCustomerIdByUserId(userId);
+        if (boundCustomerId != null) {
+            return boundCustomerId.equals(customerId);
+        }
+        return customerRepository.existsByCustomerIdAndUserId(customerId, userId);
+    }
+
+    // 🔐 ADMIN can access any customer, CUSTOMER only their own record
+    private void checkAccess(Long ownerUserId, AuthenticatedUser requester) {
+        if (!canAccess(ownerUserId, requester)) {
+            throw new SecurityException("Access denied - you can only view your own status");
+        }
+    }
+
+    private static boolean canAccess(Long ownerUserId, AuthenticatedUser requester) {
+        return "ADMIN".equalsIgnoreCase(requester.getRole()) || ownerUserId.equals(requester.getUserId());
+    }
+
+    // ======= BATCH LOOKUPS =======
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetResponse batchGet(List<Long> customerIds, AuthenticatedUser requester) {
+        Set<Long> ids = distinctIds(customerIds);
+
+        // Cache first, then one IN query per chunk for whatever is left
+        Map<Long, CustomerCacheEntry> entries = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : ids) {
+            CustomerCacheEntry cached = customerCache.get(id);
+            if (cached != null) {
+                entries.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+        long readStamp = customerCache.writeStamp();
+        // Decided once for the whole transaction - its connection is bound by the first chunk
+        readYourWrites.readCustomers(uncached, () -> {
+            for (List<Long> chunk : partition(uncached)) {
+                for (Customer customer : customerRepository.findAllByCustomerIdIn(chunk)) {
+                    entries.put(customer.getCustomerId(),
+                            customerCache.put(customer.getUserId(), customerMapper.toDto(customer), readStamp));
+                }
+            }
+            return null;
+        });
+
+        // Same per-customer rule as the single GET: a denied id doesn't fail the whole batch
+        Map<Long, CustomerResponse> found = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        List<Long> denied = new ArrayList<>();
+        for (Long id : ids) {
+            CustomerCacheEntry entry = entries.get(id);
+            if (entry == null) {
+                missing.add(id);
+            } else if (!canAccess(entry.userId(), requester)) {
+                denied.add(id);
+            } else {
+                found.put(id, entry.response());
+            }
+        }
+
+        log.debug("Batch get: {} requested, {} from cache, {} found, {} missing, {} denied",
+                ids.size(), ids.size() - uncached.size(), found.size(), missing.size(), denied.size());
+        return BatchGetResponse.builder()
+                .customers(found)
+                .missing(missing)
+                .denied(denied)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserIdResolveResponse resolveCustomerIds(List<Long> userIds, AuthenticatedUser requester) {
+        Set<Long> ids = distinctIds(userIds);
+
+        // Same rule as /user/{userId}/customer-id: ADMIN, or the caller's own userId
+        List<Long> denied = new ArrayList<>();
+        Map<Long, Long> resolved = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long userId : ids) {
+            if (!canAccess(userId, requester)) {
+                denied.add(userId);
+                continue;
+            }
+            Long cachedId = customerCache.getCustomerIdByUserId(userId);
+            if (cachedId != null) {
+                resolved.put(userId, cachedId);
+            } else {
+                uncached.add(userId);
+            }
+        }
+        for (List<Long> chunk : partition(uncached)) {
+            for (UserCustomerIdView view : customerRepository.findCustomerIdsByUserIds(chunk)) {
+                resolved.put(view.userId(), view.customerId());
+                customerCache.putCustomerId(view.userId(), view.customerId());
+            }
+        }
+
+        Map<Long, Long> customerIds = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : ids) {
+            Long customerId = resolved.get(userId);
+            if (customerId != null) {
+                customerIds.put(userId, customerId);
+            } else if (canAccess(userId, requester)) {
+                missing.add(userId);
+            }
+        }
+
+        return UserIdResolveResponse.builder()
+                .customerIds(customerIds)
+                .missing(missing)
+                .denied(denied)
+                .build();
+    }
+
+    // Request order is kept, repeats collapse to one lookup
+    private Set<Long> distinctIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
+        }
+        if (ids.size() > batchMaxIds) {
+            throw new BadRequestException("At most " + batchMaxIds + " ids per request, got " + ids.size());
+        }
+        return new LinkedHashSet<>(ids);
+    }
+
+    private static List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BATCH_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UniquenessCheckResponse checkUniqueness(UniquenessCheckRequest request) {
+        Map<String, Boolean> available = new LinkedHashMap<>();
+        checkField(available, UniqueField.PHONE, request.getPhone(), customerRepository::existsByPhone);
+        checkField(available, UniqueField.EMAIL, request.getEmail(), customerRepository::existsByEmail);
+        checkField(available, UniqueField.PAN, request.getPan(), customerRepository::existsByPan);
+        checkField(available, UniqueField.AADHAAR, request.getAadhaar(), customerRepository::existsByAadhaar);
+        if (available.isEmpty()) {
+            throw new BadRequestException("At least one of phone, email, pan or aadhaar is required");
+        }
+        return new UniquenessCheckResponse(available, !available.containsValue(false));
+    }
+
+    private void checkField(Map<String, Boolean> available, UniqueField field, String value, Predicate<String> database) {
+        if (value != null) {
+            available.put(field.field(), !uniquenessFilter.exists(field, value, database));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerResponse> searchCustomers(String query, CustomerSearchField field, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        boolean suffixField = field == CustomerSearchField.PAN || field == CustomerSearchField.AADHAAR;
+        int minLength = suffixField ? SearchKeys.SUFFIX_LENGTH : MIN_SEARCH_LENGTH;
+        if (query.trim().length() < minLength) {
+            throw new BadRequestException("Search query must have at least " + minLength + " characters");
+        }
+
+        long[] candidates = customerSearchIndex.search(query, field, limit * SEARCH_CANDIDATE_FACTOR);
+        List<Long> ids = new ArrayList<>(candidates.length);
+        for (long id : candidates) {
+            ids.add(id);
+        }
+        Map<Long, Customer> loaded = new HashMap<>();
+        for (List<Long> chunk : partition(ids)) {
+            for (Customer customer : customerRepository.findAllByCustomerIdIn(chunk)) {
+                loaded.put(customer.getCustomerId(), customer);
+            }
+        }
+
+        // Index order (alphabetical by matched term, recent writes first), checked against the current row
+        List<CustomerResponse> results = new ArrayList<>(limit);
+        for (Long id : ids) {
+            Customer customer = loaded.get(id);
+            if (customer != null && CustomerSearchIndex.matches(customer, query, field)) {
+                results.add(customerMapper.toDto(customer));
+                if (results.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return results;
     }
 
     @Override
-    public List<CustomerResponse> getAllCustomers() {
-        return customerRepository.findAll().stream()
-                .map(customer -> customerMapper.toDto(customer))
+    @Transactional(readOnly = true)
+    public CustomerPageResponse getCustomersPage(Long afterId, int limit, CustomerListFilter filter) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long cursor = afterId != null ? afterId : 0L;
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<Customer> rows = fetchPage(cursor, pageSize + 1, filter);
+        boolean hasMore = rows.size() > pageSize;
+        List<Customer> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<CustomerResponse> content = page.stream()
+                .map(customerMapper::toDto)
                 .toList();
+
+        return CustomerPageResponse.builder()
+                .content(content)
+                .size(content.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? page.get(page.size() - 1).getCustomerId() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCustomers(CustomerListFilter filter, Consumer<List<CustomerResponse>> pageConsumer) {
+        long cursor = 0L;
+        while (true) {
+            List<Customer> rows = fetchPage(cursor, STREAM_PAGE_SIZE, filter);
+            if (rows.isEmpty()) {
+                return;
+            }
+            cursor = rows.get(rows.size() - 1).getCustomerId();
+            List<CustomerResponse> page = rows.stream()
+                    .map(customerMapper::toDto)
+                    .toList();
+
+            // Detach the page so the persistence context doesn't grow with the table
+            entityManager.clear();
+            pageConsumer.accept(page);
+
+            if (rows.size() < STREAM_PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private List<Customer> fetchPage(long afterId, int limit, CustomerListFilter filter) {
+        if (filter.getKycStatus() != null) {
+            return customerRepository.findPageByStatusAfter(
+                    filter.getKycStatus(),
+                    afterId,
+                    filter.getRegisteredFrom(),
+                    filter.getRegisteredTo(),
+                    Limit.of(limit));
+        }
+        return customerRepository.findPageAfter(
+                afterId,
+                filter.getKycStatus(),
+                filter.getRegisteredFrom(),
+                filter.getRegisteredTo(),
+                Limit.of(limit));
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CustomerResponse getCustomerById(Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-        return customerMapper.toDto(customer);
+        return loadCached(customerId, "Customer not found").response();
     }
 
 //    @Override
@@ -122,23 +507,95 @@ public class CustomerServiceImpl implements CustomerService {
     // KAFKA
     @Override
     public CustomerResponse updateKycStatus(Long customerId, KycStatusUpdateRequest request) {
+        return updateKycStatus(customerId, request, null);
+    }
+
+    @Override
+    public CustomerResponse updateKycStatus(Long customerId, KycStatusUpdateRequest request, Long expectedVersion) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
 
+        checkVersion(customer, expectedVersion);
+        KycStatus previousStatus = customer.getKycStatus();
         customer.setKycStatus(request.getKycStatus());
-        Customer updated = customerRepository.save(customer);
+        Customer updated = saveVersioned(customer, expectedVersion);
+        return afterKycStatusSaved(updated, previousStatus, request);
+    }
 
-        // Produce event when VERIFIED
-        if (KycStatus.VERIFIED.equals(request.getKycStatus())) {
-            try {
-                AccountCreationEvent event = new AccountCreationEvent(updated.getCustomerId());
-                String json = objectMapper.writeValueAsString(event);
-                kafkaEventProducer.sendMessage(json);
-                log.info("Published account creation event for customerId {}", updated.getCustomerId());
-            } catch (Exception ex) {
-                log.error("Failed to publish account creation event for customer {}", updated.getCustomerId(), ex);
+    // Async pipeline: one transaction for a coalesced batch (one request per customer).
+    // Ids that don't exist are simply absent from the result.
+    @Override
+    public Map<Long, CustomerResponse> applyKycStatusUpdates(Map<Long, KycStatusUpdateRequest> updates) {
+        List<Customer> customers = customerRepository.findAllById(updates.keySet());
+        Map<Long, KycStatus> previousStatuses = new HashMap<>();
+        for (Customer customer : customers) {
+            previousStatuses.put(customer.getCustomerId(), customer.getKycStatus());
+            customer.setKycStatus(updates.get(customer.getCustomerId()).getKycStatus());
+        }
+        customerRepository.flush(); // bumps @Version so responses and events carry the new version
+
+        Map<Long, CustomerResponse> applied = new HashMap<>();
+        for (Customer customer : customers) {
+            applied.put(customer.getCustomerId(), afterKycStatusSaved(customer,
+                    previousStatuses.get(customer.getCustomerId()), updates.get(customer.getCustomerId())));
+        }
+        return applied;
+    }
+
+    @Override
+    public KycVerdictBatchResult applyKycVerdicts(Map<Long, KycStatus> verdicts) {
+        int found = 0;
+        int applied = 0;
+        int unchanged = 0;
+        for (List<Long> chunk : partition(new ArrayList<>(verdicts.keySet()))) {
+            List<CustomerStatusView> rows = customerRepository.lockStatusesByIds(chunk);
+            found += rows.size();
+
+            Map<KycStatus, List<CustomerStatusView>> changesByStatus = new EnumMap<>(KycStatus.class);
+            for (CustomerStatusView row : rows) {
+                KycStatus target = verdicts.get(row.customerId());
+                if (target == row.kycStatus()) {
+                    unchanged++; // already applied - typically a redelivery
+                } else {
+                    changesByStatus.computeIfAbsent(target, status -> new ArrayList<>()).add(row);
+                }
+            }
+
+            for (Map.Entry<KycStatus, List<CustomerStatusView>> change : changesByStatus.entrySet()) {
+                KycStatus target = change.getKey();
+                List<CustomerStatusView> changed = change.getValue();
+                applied += customerRepository.updateKycStatus(
+                        changed.stream().map(CustomerStatusView::customerId).toList(), target);
+
+                LocalDateTime now = LocalDateTime.now();
+                for (CustomerStatusView row : changed) {
+                    afterWrite(row.customerId(), row.userId());
+                    eventPublisher.publishEvent(new KycStatusChangedEvent(row.customerId(), row.userId(),
+                            row.kycStatus(), target, row.version() + 1, now));
+                    if (target == KycStatus.VERIFIED) {
+                        outboxWriter.enqueueAccountCreation(row.customerId());
+                    }
+                }
             }
         }
+        return new KycVerdictBatchResult(verdicts.size(), applied, unchanged, verdicts.size() - found);
+    }
+
+    private CustomerResponse afterKycStatusSaved(Customer updated, KycStatus previousStatus,
+                                                 KycStatusUpdateRequest request) {
+        afterWrite(updated.getCustomerId(), updated.getUserId());
+
+        // Pushed to SSE subscribers by KycStatusFeed once this transaction commits
+        if (previousStatus != updated.getKycStatus()) {
+            eventPublisher.publishEvent(new KycStatusChangedEvent(updated.getCustomerId(), updated.getUserId(),
+                    previousStatus, updated.getKycStatus(), updated.getVersion(), LocalDateTime.now()));
+        }
+
+        // Record the event when VERIFIED - written to the outbox in this transaction, published by OutboxRelay
+        if (KycStatus.VERIFIED.equals(request.getKycStatus())) {
+            outboxWriter.enqueueAccountCreation(updated.getCustomerId());
+            log.info("Queued account creation event for customerId {}", updated.getCustomerId());
+        }
 
         return customerMapper.toDto(updated,
                 request.getMessage() != null ? request.getMessage() : "KYC status updated");
@@ -148,14 +605,20 @@ public class CustomerServiceImpl implements CustomerService {
     // ======= USER-CUSTOMER RESOLUTION METHODS =======
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Long getCustomerIdByUserId(Long userId) {
         log.debug("🔍 Looking up customerId for userId: {}", userId);
-        Optional<Customer> customer = customerRepository.findByUserId(userId);
+        Long cachedId = customerCache.getCustomerIdByUserId(userId);
+        if (cachedId != null) {
+            return cachedId;
+        }
+
+        // Id-only query against the user_id unique index, shared with concurrent lookups for the same user
+        Optional<Long> customerId = lookupCoalescer.loadCustomerId(userId);
 
-        if (customer.isPresent()) {
-            Long customerId = customer.get().getCustomerId();
-            log.debug("✅ Found customerId: {} for userId: {}", customerId, userId);
-            return customerId;
+        if (customerId.isPresent()) {
+            log.debug("✅ Found customerId: {} for userId: {}", customerId.get(), userId);
+            return customerId.get();
         } else {
             log.debug("❌ No customer found for userId: {}", userId);
             return null;
@@ -163,17 +626,77 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Customer getCustomerByUserId(Long userId) {
         log.debug("🔍 Looking up customer entity for userId: {}", userId);
         return customerRepository.findByUserId(userId).orElse(null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByUserId(Long userId) {
         return customerRepository.existsByUserId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<CacheStatsResponse> getCacheStats() {
+        return customerCache.stats();
+    }
+
+    @Override
+    public List<CoalescingStatsResponse> getLookupStats() {
+        return lookupCoalescer.stats();
+    }
+
+    // ======= CACHE =======
+
+    // Read-through: serve from the cache, otherwise load the row once - concurrent misses for
+    // the same id share that load. Callers run without a transaction (SUPPORTS) so threads
+    // waiting on a shared load don't each hold a pooled connection.
+    private CustomerCacheEntry loadCached(Long customerId, String notFoundMessage) {
+        CustomerCacheEntry cached = customerCache.get(customerId);
+        if (cached != null) {
+            return cached;
+        }
+        return lookupCoalescer.load(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException(notFoundMessage));
+    }
+
+    private void afterWrite(Long customerId, Long userId) {
+        customerCache.evictAfterCommit(customerId);
+        changeBroadcaster.publishAfterCommit(customerId); // ...and the other instances' caches once it commits
+        lookupCoalescer.forget(customerId); // Later readers must not join a load that started before this write
+        readYourWrites.recordWrite(customerId, userId); // ...nor refill the cache from a lagging replica
+    }
+
+    // Status: a cached snapshot already has it, otherwise a three-column projection by primary key
+    private StatusLookup loadStatus(Long customerId, String notFoundMessage) {
+        CustomerCacheEntry cached = customerCache.get(customerId);
+        if (cached != null) {
+            CustomerResponse response = cached.response();
+            return new StatusLookup(cached.userId(),
+                    toStatus(customerId, response.getKycStatus(), response.getVersion()));
+        }
+        CustomerStatusView view = readYourWrites.readCustomers(List.of(customerId),
+                        () -> customerRepository.findStatusById(customerId))
+                .orElseThrow(() -> new ResourceNotFoundException(notFoundMessage));
+        return new StatusLookup(view.userId(), toStatus(view.customerId(), view.kycStatus(), view.version()));
+    }
+
+    private static CustomerStatusResponse toStatus(Long customerId, KycStatus kycStatus, Long version) {
+        return CustomerStatusResponse.builder()
+                .customerId(customerId)
+                .kycStatus(kycStatus)
+                .version(version)
+                .build();
+    }
+
+    private record StatusLookup(Long userId, CustomerStatusResponse response) {
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Customer getCustomerEntity(Long customerId) {
         return customerRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + customerId));
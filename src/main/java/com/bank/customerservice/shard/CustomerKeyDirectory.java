@@ -0,0 +1,158 @@
+package com.bank.customerservice.shard;
+
+import com.bank.customerservice.exception.ConflictException;
+import com.bank.customerservice.exception.UniqueConstraintViolations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+// Cross-shard uniqueness for userId, phone, email, PAN and Aadhaar. Each shard's unique constraints
+// only see their own rows, so every key is claimed in CUSTOMER_UNIQUE_KEYS (on shard 0) before the
+// customer row is written. Unsharded, the CUSTOMERS constraints are enough and this is a no-op.
+@Slf4j
+@Component
+public class CustomerKeyDirectory {
+
+    public enum KeyType {
+        USER_ID("userId"), PHONE("phone"), EMAIL("email"), PAN("pan"), AADHAAR("aadhaar");
+
+        private final String field;
+
+        KeyType(String field) {
+            this.field = field;
+        }
+
+        public String field() {
+            return field;
+        }
+    }
+
+    public record Key(KeyType type, String value) {
+    }
+
+    // Oracle rejects IN lists longer than 1000 elements
+    private static final int MAX_IN_LIST = 1000;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+
+    public CustomerKeyDirectory(ObjectProvider<ShardedDataSources> shardedDataSources) {
+        ShardedDataSources shards = shardedDataSources.getIfAvailable();
+        if (shards == null) {
+            this.jdbc = null;
+            this.transaction = null;
+            return;
+        }
+        this.jdbc = new NamedParameterJdbcTemplate(shards.get(0));
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(shards.get(0)));
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isEnabled() {
+        return jdbc != null;
+    }
+
+    public static List<Key> keysOf(Long userId, String phone, String email, String pan, String aadhaar) {
+        return List.of(
+                new Key(KeyType.USER_ID, userId.toString()),
+                new Key(KeyType.PHONE, phone),
+                new Key(KeyType.EMAIL, email),
+                new Key(KeyType.PAN, pan),
+                new Key(KeyType.AADHAAR, aadhaar));
+    }
+
+    // All-or-nothing claim in its own directory transaction; 409 on the first key someone else holds.
+    // Inside a customer transaction the claim is handed back if that transaction rolls back.
+    public void reserve(List<Key> keys, int shard) {
+        if (!isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> jdbc.batchUpdate(
+                    "INSERT INTO CUSTOMER_UNIQUE_KEYS (key_type, key_value, shard_id) VALUES (:type, :value, :shard)",
+                    keys.stream().map(key -> new MapSqlParameterSource()
+                            .addValue("type", key.type().name())
+                            .addValue("value", key.value())
+                            .addValue("shard", shard)).toArray(MapSqlParameterSource[]::new)));
+        } catch (DuplicateKeyException ex) {
+            String field = firstClaimed(keys).map(KeyType::field).orElse("unique field");
+            throw new ConflictException(field, UniqueConstraintViolations.messageFor(field));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(keys);
+                    }
+                }
+            });
+        }
+    }
+
+    // For keys a committed change no longer uses, e.g. the old email after an update
+    public void releaseAfterCommit(List<Key> keys) {
+        if (!isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(keys);
+            }
+        });
+    }
+
+    public void release(List<Key> keys) {
+        if (!isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> jdbc.batchUpdate(
+                    "DELETE FROM CUSTOMER_UNIQUE_KEYS WHERE key_type = :type AND key_value = :value",
+                    keys.stream().map(key -> new MapSqlParameterSource()
+                            .addValue("type", key.type().name())
+                            .addValue("value", key.value())).toArray(MapSqlParameterSource[]::new)));
+        } catch (RuntimeException ex) {
+            // The claim stays behind and blocks the value until removed by hand - worth an alert
+            log.error("Could not release {} unique key(s) {}", keys.size(), keys, ex);
+        }
+    }
+
+    public boolean exists(KeyType type, String value) {
+        return !existing(type, List.of(value)).isEmpty();
+    }
+
+    public List<String> existing(KeyType type, Collection<String> values) {
+        List<String> found = new ArrayList<>();
+        List<String> all = new ArrayList<>(values);
+        for (int from = 0; from < all.size(); from += MAX_IN_LIST) {
+            found.addAll(jdbc.queryForList(
+                    "SELECT key_value FROM CUSTOMER_UNIQUE_KEYS WHERE key_type = :type AND key_value IN (:values)",
+                    new MapSqlParameterSource()
+                            .addValue("type", type.name())
+                            .addValue("values", all.subList(from, Math.min(from + MAX_IN_LIST, all.size()))),
+                    String.class));
+        }
+        return found;
+    }
+
+    private Optional<KeyType> firstClaimed(List<Key> keys) {
+        for (Key key : keys) {
+            if (exists(key.type(), key.value())) {
+                return Optional.of(key.type());
+            }
+        }
+        return Optional.empty();
+    }
+}
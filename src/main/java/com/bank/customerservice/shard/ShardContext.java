@@ -0,0 +1,79 @@
+package com.bank.customerservice.shard;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+// The shard the current thread's next connection comes from. Like ReadRouting, it only matters when
+// a connection is obtained, so set it around the first statement of a transaction. Once a transaction
+// has touched a shard it stays bound to it, so later statements (flush at commit, outbox inserts)
+// resolve to the same shard without a scope of their own.
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final Object TRANSACTION_SHARD = new Object();
+
+    private ShardContext() {
+    }
+
+    public static <T> T on(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void run(int shard, Runnable action) {
+        on(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Unrouted work outside a routed transaction (Flyway, unsharded deployments) uses shard 0
+    public static int currentOrDefault() {
+        Integer shard = CURRENT.get();
+        if (shard != null) {
+            return shard;
+        }
+        Integer bound = transactionShard();
+        return bound != null ? bound : 0;
+    }
+
+    static Integer transactionShard() {
+        return (Integer) TransactionSynchronizationManager.getResource(TRANSACTION_SHARD);
+    }
+
+    // Suspended with the transaction (REQUIRES_NEW), so an inner transaction starts unbound
+    static void bindToTransaction(int shard) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.hasResource(TRANSACTION_SHARD)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(TRANSACTION_SHARD, shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SHARD);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TRANSACTION_SHARD, shard);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_SHARD);
+            }
+        });
+    }
+}
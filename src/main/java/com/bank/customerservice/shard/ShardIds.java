@@ -0,0 +1,45 @@
+package com.bank.customerservice.shard;
+
+// customerId layout: [shard:10][sequence:42]. Ids stay below 2^53, so JSON clients keep them exact,
+// and everything written before sharding (sequence < 2^42, shard bits 0) already belongs to shard 0.
+public final class ShardIds {
+
+    public static final int SHARD_SHIFT = 42;
+    public static final int MAX_SHARDS = 1 << 10;
+    private static final long SEQUENCE_MASK = (1L << SHARD_SHIFT) - 1;
+
+    // Each shard's sequences hand out values from their own block. Hibernate's pooled optimizer is shared
+    // by all shards, so a block fetched on one shard can be spent on another - disjoint blocks keep that unique.
+    private static final int SEQUENCE_BLOCK_SHIFT = SHARD_SHIFT - 10;
+
+    private ShardIds() {
+    }
+
+    public static long encode(int shard, long sequence) {
+        if (sequence < 0 || sequence > SEQUENCE_MASK) {
+            throw new IllegalStateException("Sequence value " + sequence + " does not fit in " + SHARD_SHIFT + " bits");
+        }
+        return ((long) shard << SHARD_SHIFT) | sequence;
+    }
+
+    public static int shardOf(long customerId) {
+        return (int) (customerId >>> SHARD_SHIFT);
+    }
+
+    // Stable across restarts and JVMs - never String/Object hashCode
+    public static int shardForUser(long userId, int shardCount) {
+        long h = userId;
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) shardCount);
+    }
+
+    public static long sequenceBlockStart(int shard) {
+        return (long) shard << SEQUENCE_BLOCK_SHIFT;
+    }
+
+    public static long sequenceBlockEnd(int shard) {
+        return (long) (shard + 1) << SEQUENCE_BLOCK_SHIFT;
+    }
+}
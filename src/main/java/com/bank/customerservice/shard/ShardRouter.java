@@ -0,0 +1,119 @@
+package com.bank.customerservice.shard;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// Where a customer lives: shard = hash(userId) at registration, and encoded in the customerId from then on.
+// Unsharded deployments see a single shard 0 and every helper degenerates to a plain call.
+@Component
+public class ShardRouter {
+
+    private final boolean sharded;
+    private final int shardCount;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final ExecutorService scatterExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("customer-shard-scatter-", 0).factory());
+
+    public ShardRouter(ObjectProvider<ShardedDataSources> shardedDataSources,
+                       PlatformTransactionManager transactionManager) {
+        ShardedDataSources shards = shardedDataSources.getIfAvailable();
+        this.sharded = shards != null;
+        this.shardCount = sharded ? shards.count() : 1;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOfCustomer(long customerId) {
+        int shard = ShardIds.shardOf(customerId);
+        return shard < shardCount ? shard : -1; // -1: an id no shard could have issued
+    }
+
+    public int shardOfUser(long userId) {
+        return ShardIds.shardForUser(userId, shardCount);
+    }
+
+    // Groups keys by shard, in shard order; keys that map to no shard are dropped
+    public <K> SortedMap<Integer, List<K>> partition(Collection<K> keys, Function<K, Integer> shardOf) {
+        SortedMap<Integer, List<K>> byShard = new TreeMap<>();
+        for (K key : keys) {
+            int shard = shardOf.apply(key);
+            if (shard >= 0) {
+                byShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(key);
+            }
+        }
+        return byShard;
+    }
+
+    // One read-write transaction on the given shard, for callers that are not in a transaction themselves
+    public <T> T inTransaction(int shard, Supplier<T> work) {
+        return ShardContext.on(shard, () -> writeTransaction.execute(status -> work.get()));
+    }
+
+    // Runs a read on each shard in its own read-only transaction, in parallel when there is more than one.
+    // Results come back in the order of the shards argument.
+    public <T> List<T> scatter(Collection<Integer> shards, IntFunction<T> read) {
+        if (shards.size() == 1) {
+            int shard = shards.iterator().next();
+            return Collections.singletonList(ShardContext.on(shard, () -> readTransaction.execute(status -> read.apply(shard))));
+        }
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(scatterExecutor.submit(() ->
+                    ShardContext.on(shard, () -> readTransaction.execute(status -> read.apply(shard)))));
+        }
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during a cross-shard read", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Cross-shard read failed", e.getCause());
+        }
+        return results;
+    }
+
+    public List<Integer> allShards() {
+        List<Integer> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scatterExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,28 @@
+package com.bank.customerservice.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One physical pool per shard, picked by ShardContext when a connection is requested
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(List<? extends DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.currentOrDefault();
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.customerservice.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+// The physical per-shard pools, in shard order. Only exists when customer.sharding.enabled=true.
+public class ShardedDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardedDataSources(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public int count() {
+        return shards.size();
+    }
+
+    public HikariDataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    public List<HikariDataSource> all() {
+        return shards;
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
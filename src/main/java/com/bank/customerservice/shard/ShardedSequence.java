@@ -0,0 +1,20 @@
+package com.bank.customerservice.shard;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+// Pooled sequence id with the current shard in the high bits (see ShardIds)
+@IdGeneratorType(ShardedSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface ShardedSequence {
+
+    String sequenceName();
+
+    int allocationSize() default 50;
+}
@@ -0,0 +1,37 @@
+package com.bank.customerservice.shard;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+// The regular pooled SequenceStyleGenerator, plus the shard of the insert. Unsharded, that is
+// always shard 0 and the ids are exactly the sequence values, as before.
+public class ShardedSequenceGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<ShardedSequence> {
+
+    private ShardedSequence config;
+
+    // Called before configure(); Hibernate may create the generator through Spring's bean container
+    @Override
+    public void initialize(ShardedSequence annotation, Member member, GeneratorCreationContext context) {
+        this.config = annotation;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        parameters.setProperty(SEQUENCE_PARAM, config.sequenceName());
+        parameters.setProperty(INCREMENT_PARAM, Integer.toString(config.allocationSize()));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        long sequence = ((Number) super.generate(session, object)).longValue();
+        return ShardIds.encode(ShardContext.currentOrDefault(), sequence);
+    }
+}
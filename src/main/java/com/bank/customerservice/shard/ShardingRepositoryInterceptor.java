@@ -0,0 +1,275 @@
+package com.bank.customerservice.shard;
+
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.repository.CustomerSearchRow;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// Outermost advice on the CustomerRepository proxy when sharding is on. Every method is routed by
+// name through the table in routes(): single-shard calls run with the shard set before the
+// repository's own transaction starts, IN-list reads are split by shard, listings and range scans
+// are scatter-gathered and merged by customerId, and the unique-field checks go to the global key directory.
+// A method missing from the table fails loudly rather than silently reading shard 0, and
+// checkRoutes() fails the boot if CustomerRepository declares one.
+public class ShardingRepositoryInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ShardRouter> shardRouter;
+    private final ObjectProvider<CustomerKeyDirectory> keyDirectory;
+    private final Map<String, Route> routes = routes();
+
+    public ShardingRepositoryInterceptor(ObjectProvider<ShardRouter> shardRouter,
+                                         ObjectProvider<CustomerKeyDirectory> keyDirectory) {
+        this.shardRouter = shardRouter;
+        this.keyDirectory = keyDirectory;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Route route = routes.get(invocation.getMethod().getName());
+        if (route == null) {
+            throw new UnsupportedOperationException(
+                    "CustomerRepository." + invocation.getMethod().getName() + " has no shard routing");
+        }
+        return route.route(invocation, shardRouter.getObject(), invocation.getArguments());
+    }
+
+    // Run at startup so a repository method added without a route fails the boot, not its first call
+    public void checkRoutes(Class<?> repositoryInterface) {
+        SortedSet<String> unrouted = new TreeSet<>();
+        for (Method method : repositoryInterface.getDeclaredMethods()) {
+            if (!Modifier.isStatic(method.getModifiers()) && !method.isSynthetic()
+                    && !routes.containsKey(method.getName())) {
+                unrouted.add(method.getName());
+            }
+        }
+        if (!unrouted.isEmpty()) {
+            throw new IllegalStateException(repositoryInterface.getSimpleName() + " methods without shard routing: "
+                    + unrouted + " - add them to ShardingRepositoryInterceptor");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        Object route(MethodInvocation invocation, ShardRouter router, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Route> routes() {
+        Map<String, Route> routes = new HashMap<>();
+        add(routes, (invocation, router, args) -> onShard(invocation, router.shardOfCustomer((Long) args[0]), false),
+                "findById", "existsById", "findStatusById", "existsByCustomerIdAndUserId");
+        add(routes, (invocation, router, args) -> onShard(invocation, router.shardOfUser((Long) args[0]), false),
+                "findByUserId", "existsByUserId", "findCustomerIdByUserId");
+        add(routes, (invocation, router, args) -> onShard(invocation, shardOf(router, (Customer) args[0]), true),
+                "save", "saveAndFlush");
+        add(routes, (invocation, router, args) -> onShard(invocation,
+                        singleShard(router, (Iterable<Customer>) args[0], c -> shardOf(router, c)), true),
+                "saveAll", "saveAllAndFlush");
+        add(routes, (invocation, router, args) -> onShard(invocation,
+                        singleShard(router, (Collection<Long>) args[0], router::shardOfCustomer), true),
+                "lockStatusesByIds", "updateKycStatus");
+        add(routes, (invocation, router, args) -> byKeys(invocation, router, router::shardOfCustomer),
+                "findAllById", "findAllByCustomerIdIn");
+        add(routes, (invocation, router, args) -> byKeys(invocation, router, router::shardOfUser),
+                "findCustomerIdsByUserIds");
+        add(routes, (invocation, router, args) -> {
+            long total = 0;
+            for (Object part : scatter(router, router.allShards(), shard -> cloneOf(invocation))) {
+                total += (Long) part;
+            }
+            return total;
+        }, "count");
+        add(routes, (invocation, router, args) -> extreme(invocation, router, true), "findMinCustomerId");
+        add(routes, (invocation, router, args) -> extreme(invocation, router, false), "findMaxCustomerId");
+        add(routes, (invocation, router, args) ->
+                        mergedPage(invocation, router, (Limit) args[4], c -> ((Customer) c).getCustomerId()),
+                "findPageAfter", "findPageByStatusAfter");
+        add(routes, (invocation, router, args) ->
+                        mergedPage(invocation, router, (Limit) args[2], r -> ((CustomerSearchRow) r).customerId()),
+                "findSearchRows");
+        add(routes, (invocation, router, args) -> directory().exists(CustomerKeyDirectory.KeyType.PHONE, (String) args[0]),
+                "existsByPhone");
+        add(routes, (invocation, router, args) -> directory().exists(CustomerKeyDirectory.KeyType.EMAIL, (String) args[0]),
+                "existsByEmail");
+        add(routes, (invocation, router, args) -> directory().exists(CustomerKeyDirectory.KeyType.PAN, (String) args[0]),
+                "existsByPan");
+        add(routes, (invocation, router, args) -> directory().exists(CustomerKeyDirectory.KeyType.AADHAAR, (String) args[0]),
+                "existsByAadhaar");
+        add(routes, (invocation, router, args) -> directory().existing(CustomerKeyDirectory.KeyType.USER_ID,
+                        ((Collection<Long>) args[0]).stream().map(String::valueOf).toList())
+                .stream().map(Long::valueOf).toList(), "findExistingUserIds");
+        add(routes, (invocation, router, args) ->
+                directory().existing(CustomerKeyDirectory.KeyType.PHONE, (Collection<String>) args[0]), "findExistingPhones");
+        add(routes, (invocation, router, args) ->
+                directory().existing(CustomerKeyDirectory.KeyType.EMAIL, (Collection<String>) args[0]), "findExistingEmails");
+        add(routes, (invocation, router, args) ->
+                directory().existing(CustomerKeyDirectory.KeyType.PAN, (Collection<String>) args[0]), "findExistingPans");
+        add(routes, (invocation, router, args) ->
+                directory().existing(CustomerKeyDirectory.KeyType.AADHAAR, (Collection<String>) args[0]), "findExistingAadhaars");
+        // Acts on the persistence context of the current transaction, which is already on its shard
+        add(routes, (invocation, router, args) -> invocation.proceed(), "flush");
+        return Map.copyOf(routes);
+    }
+
+    private static void add(Map<String, Route> routes, Route route, String... methodNames) {
+        for (String name : methodNames) {
+            routes.put(name, route);
+        }
+    }
+
+    private CustomerKeyDirectory directory() {
+        return keyDirectory.getObject();
+    }
+
+    // An existing row stays where its id says; a new one goes where its user hashes to
+    private static int shardOf(ShardRouter router, Customer customer) {
+        return customer.getCustomerId() != null
+                ? router.shardOfCustomer(customer.getCustomerId())
+                : router.shardOfUser(customer.getUserId());
+    }
+
+    private static <T> int singleShard(ShardRouter router, Iterable<T> items, Function<T, Integer> shardOf) {
+        int shard = -1;
+        for (T item : items) {
+            int itemShard = shardOf.apply(item);
+            if (itemShard < 0) {
+                continue; // an id no shard issued matches no row
+            }
+            if (shard >= 0 && itemShard != shard) {
+                throw new IllegalStateException("Batch write spans shards " + shard + " and " + itemShard
+                        + " - group it by shard first");
+            }
+            shard = itemShard;
+        }
+        return shard;
+    }
+
+    // A transaction sticks to the shard of its first call. Reads elsewhere get their own read-only
+    // transaction on that shard; a write elsewhere would not be atomic with the rest, so it is refused.
+    private Object onShard(MethodInvocation invocation, int shard, boolean write) throws Throwable {
+        if (shard < 0) {
+            return notFound(invocation);
+        }
+        Integer bound = ShardContext.transactionShard();
+        if (bound != null && bound != shard) {
+            if (write) {
+                throw new IllegalStateException("Transaction is bound to shard " + bound
+                        + ", cannot write to shard " + shard + " in it");
+            }
+            ProxyMethodInvocation call = (ProxyMethodInvocation) invocation;
+            return shardRouter.getObject().scatter(List.of(shard), s -> proceed(call.invocableClone())).get(0);
+        }
+        ShardContext.bindToTransaction(shard);
+        try {
+            return ShardContext.on(shard, () -> proceed(invocation));
+        } catch (ProceedException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private Object byKeys(MethodInvocation invocation, ShardRouter router, Function<Long, Integer> shardOf) throws Throwable {
+        @SuppressWarnings("unchecked")
+        Iterable<Long> keys = (Iterable<Long>) invocation.getArguments()[0];
+        List<Long> all = new ArrayList<>();
+        keys.forEach(all::add);
+        SortedMap<Integer, List<Long>> byShard = router.partition(all, shardOf);
+        if (byShard.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (byShard.size() == 1) {
+            Map.Entry<Integer, List<Long>> only = byShard.entrySet().iterator().next();
+            return onShard(withFirstArgument(invocation, only.getValue()), only.getKey(), false);
+        }
+        List<Object> results = new ArrayList<>();
+        for (Object part : scatter(router, byShard.keySet(), shard -> withFirstArgument(invocation, byShard.get(shard)))) {
+            results.addAll((Collection<?>) part);
+        }
+        return results;
+    }
+
+    // Each shard returns its first `limit` rows in id order; the global first `limit` are among them
+    private Object mergedPage(MethodInvocation invocation, ShardRouter router, Limit limit,
+                              ToLongFunction<Object> idOf) throws Throwable {
+        List<Object> merged = new ArrayList<>();
+        for (Object part : scatter(router, router.allShards(), shard -> cloneOf(invocation))) {
+            merged.addAll((Collection<?>) part);
+        }
+        merged.sort(Comparator.comparingLong(idOf));
+        return limit.isLimited() && merged.size() > limit.max()
+                ? new ArrayList<>(merged.subList(0, limit.max()))
+                : merged;
+    }
+
+    private Object extreme(MethodInvocation invocation, ShardRouter router, boolean min) throws Throwable {
+        Long result = null;
+        for (Object part : scatter(router, router.allShards(), shard -> cloneOf(invocation))) {
+            Long value = (Long) part;
+            if (value != null && (result == null || (min ? value < result : value > result))) {
+                result = value;
+            }
+        }
+        return result;
+    }
+
+    private List<Object> scatter(ShardRouter router, Collection<Integer> shards,
+                                 Function<Integer, MethodInvocation> invocationFor) throws Throwable {
+        try {
+            return router.scatter(shards, shard -> proceed(invocationFor.apply(shard)));
+        } catch (ProceedException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static MethodInvocation cloneOf(MethodInvocation invocation) {
+        return ((ProxyMethodInvocation) invocation).invocableClone();
+    }
+
+    private static MethodInvocation withFirstArgument(MethodInvocation invocation, List<Long> keys) {
+        Object[] args = invocation.getArguments().clone();
+        args[0] = keys;
+        return ((ProxyMethodInvocation) invocation).invocableClone(args);
+    }
+
+    private static Object notFound(MethodInvocation invocation) {
+        Class<?> type = invocation.getMethod().getReturnType();
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return new ArrayList<>();
+        }
+        throw new IllegalArgumentException("No shard for the key of CustomerRepository." + invocation.getMethod().getName());
+    }
+
+    private static Object proceed(MethodInvocation invocation) {
+        try {
+            return invocation.proceed();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new ProceedException(ex);
+        }
+    }
+
+    // Carries a checked exception through the Supplier-based helpers
+    private static final class ProceedException extends RuntimeException {
+        ProceedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
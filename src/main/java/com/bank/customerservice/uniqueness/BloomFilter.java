@@ -0,0 +1,112 @@
+package com.bank.customerservice.uniqueness;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bloom filter over strings in a plain long[]. Bits are set with an atomic OR through a VarHandle,
+// so concurrent writers never lose each other's bits and nothing takes a lock. Bits are never cleared;
+// a reader racing a writer can only miss the value being added, as if it had asked a moment earlier.
+public final class BloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final double LN2 = Math.log(2);
+    private static final int MAX_HASHES = 16;
+    private static final long MAX_BITS = (long) (Integer.MAX_VALUE - 8) * Long.SIZE;
+
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+    private final AtomicLong setBits = new AtomicLong();
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new long[(int) ((bits + Long.SIZE - 1) >>> 6)];
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    // Standard sizing: m = -n ln p / (ln 2)^2 bits and k = (m / n) ln 2 hash functions
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long bits = (long) Math.ceil(-n * Math.log(p) / (LN2 * LN2));
+        bits = Math.min(Math.max(bits, Long.SIZE), MAX_BITS);
+        int hashes = (int) Math.min(Math.max(Math.round((double) bits / n * LN2), 1), MAX_HASHES);
+        return new BloomFilter(bits, hashes);
+    }
+
+    public void add(String value) {
+        addKey(key(value));
+    }
+
+    // Adds a value by its key(), e.g. one received from another instance
+    public void addKey(long key) {
+        long h1 = mix(key);
+        long h2 = mix(key + 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            // Skip the atomic write when the bit is already there - the common case once a filter fills up
+            if (((long) WORDS.getOpaque(words, word) & mask) == 0
+                    && ((long) WORDS.getAndBitwiseOr(words, word, mask) & mask) == 0) {
+                setBits.incrementAndGet();
+            }
+        }
+    }
+
+    // false: definitely never added. true: probably added.
+    public boolean mightContain(String value) {
+        long hash = key(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash + 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h1 + i * h2);
+            if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // (fraction of bits set)^k - what a value never added currently has to get past
+    public double estimatedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bits, hashes);
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    // Maps a 64-bit hash onto [0, bits) without a division (Lemire's multiply-shift range reduction)
+    private long index(long hash) {
+        return Math.unsignedMultiplyHigh(hash, bits);
+    }
+
+    // The 64-bit hash a value is filed under. It doesn't depend on the filter's size, so instances can
+    // exchange keys instead of the values themselves.
+    // FNV-1a over the UTF-16 chars, finished by mix() - values are short, so this beats encoding to bytes
+    public static long key(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // MurmurHash3 fmix64: spreads every input bit over the whole word
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,282 @@
+package com.bank.customerservice.uniqueness;
+
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.kafka.CustomerChangeBroadcaster;
+import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.repository.CustomerSearchRow;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// One Bloom filter per unique column, so "is this phone/email/PAN/Aadhaar taken?" is answered
+// without a query when the filter says the value was never seen - nearly every check.
+// A "maybe" still goes to the database, and the unique constraints stay the final word at insert.
+// Built by a keyset scan once the app is ready, fed by every committed insert and email change,
+// and rebuilt periodically to resize for growth and drop values that are no longer used.
+// Other instances get each commit's keys (BloomFilter.key(), not the values) through
+// CustomerChangeBroadcaster, so a value registered elsewhere is a "maybe" here once the event
+// arrives. If it is lost, the next rebuild picks the value up; until then a check may call it free
+// and the unique constraint answers 409 at registration.
+@Slf4j
+@Component
+public class CustomerUniquenessFilter implements MeterBinder {
+
+    // Sized for twice the current rows, so the rate holds until the next rebuild resizes it
+    private static final long GROWTH_HEADROOM = 2;
+    private static final UniqueField[] FIELDS = UniqueField.values();
+
+    private final CustomerRepository customerRepository;
+    private final CustomerChangeBroadcaster changeBroadcaster;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long minExpectedInsertions;
+    private final int pageSize;
+
+    private final ExecutorService maintenance = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("customer-uniqueness-maintenance").daemon().factory());
+
+    private volatile BloomFilter[] live;      // by UniqueField ordinal; null until the first build
+    private volatile BloomFilter[] building;  // also receives adds while a rebuild scans
+
+    private final AtomicLongArray filtered = new AtomicLongArray(FIELDS.length);
+    private final AtomicLongArray queried = new AtomicLongArray(FIELDS.length);
+    private final AtomicLongArray falsePositives = new AtomicLongArray(FIELDS.length);
+
+    public CustomerUniquenessFilter(CustomerRepository customerRepository,
+                                    CustomerChangeBroadcaster changeBroadcaster,
+                                    @Value("${customer.uniqueness.filter.enabled:true}") boolean enabled,
+                                    @Value("${customer.uniqueness.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                    @Value("${customer.uniqueness.filter.expected-insertions:1000000}") long minExpectedInsertions,
+                                    @Value("${customer.uniqueness.filter.page-size:5000}") int pageSize) {
+        this.customerRepository = customerRepository;
+        this.changeBroadcaster = changeBroadcaster;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minExpectedInsertions = Math.max(minExpectedInsertions, 1024);
+        this.pageSize = Math.max(pageSize, 100);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (enabled) {
+            maintenance.execute(this::rebuild);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${customer.uniqueness.filter.rebuild-interval-ms:900000}",
+            fixedDelayString = "${customer.uniqueness.filter.rebuild-interval-ms:900000}")
+    public void scheduledRebuild() {
+        if (enabled && live != null) {
+            maintenance.execute(this::rebuild);
+        }
+    }
+
+    public void add(Customer customer) {
+        addAll(List.of(customer));
+    }
+
+    // Added once the transaction commits: a rebuild that starts after this point scans the rows,
+    // one that is already running gets the keys through `building`. The other instances get them in one event.
+    public void addAll(Collection<Customer> customers) {
+        if (!enabled || customers.isEmpty()) {
+            return;
+        }
+        Map<String, List<Long>> keys = new LinkedHashMap<>();
+        for (UniqueField field : FIELDS) {
+            List<Long> fieldKeys = new ArrayList<>(customers.size());
+            for (Customer customer : customers) {
+                String value = field.valueOf(customer);
+                if (value != null) {
+                    fieldKeys.add(BloomFilter.key(value));
+                }
+            }
+            keys.put(field.field(), fieldKeys);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(keys);
+                    changeBroadcaster.publishUniqueKeys(keys);
+                }
+            });
+        } else {
+            addNow(keys);
+            changeBroadcaster.publishUniqueKeys(keys);
+        }
+    }
+
+    // Keys committed on another instance, by UniqueField.field()
+    public void addRemote(Map<String, List<Long>> keys) {
+        if (enabled) {
+            addNow(keys);
+        }
+    }
+
+    // Read building before live: whichever rebuild step we race, the keys end up in the filter that stays live
+    private void addNow(Map<String, List<Long>> keys) {
+        BloomFilter[] next = building;
+        if (next != null) {
+            addKeys(next, keys);
+        }
+        BloomFilter[] current = live;
+        if (current != null) {
+            addKeys(current, keys);
+        }
+    }
+
+    private static void addKeys(BloomFilter[] filters, Map<String, List<Long>> keys) {
+        for (UniqueField field : FIELDS) {
+            List<Long> fieldKeys = keys.get(field.field());
+            if (fieldKeys != null) {
+                fieldKeys.forEach(filters[field.ordinal()]::addKey);
+            }
+        }
+    }
+
+    private static void addTo(BloomFilter[] filters, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                filters[i].add(values[i]);
+            }
+        }
+    }
+
+    public boolean exists(UniqueField field, String value, Predicate<String> database) {
+        BloomFilter[] filters = live;
+        int i = field.ordinal();
+        if (filters != null && !filters[i].mightContain(value)) {
+            filtered.incrementAndGet(i);
+            return false;
+        }
+        boolean exists = database.test(value);
+        if (filters != null) {
+            queried.incrementAndGet(i);
+            if (!exists) {
+                falsePositives.incrementAndGet(i);
+            }
+        }
+        return exists;
+    }
+
+    // Bulk form of exists(): only values the filter can't rule out are sent to the IN query
+    public List<String> existing(UniqueField field, Collection<String> values,
+                                 Function<Collection<String>, List<String>> database) {
+        BloomFilter[] filters = live;
+        if (filters == null) {
+            return values.isEmpty() ? List.of() : database.apply(values);
+        }
+        int i = field.ordinal();
+        List<String> candidates = new ArrayList<>();
+        for (String value : values) {
+            if (filters[i].mightContain(value)) {
+                candidates.add(value);
+            }
+        }
+        filtered.addAndGet(i, values.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        List<String> found = database.apply(candidates);
+        queried.addAndGet(i, candidates.size());
+        falsePositives.addAndGet(i, candidates.size() - found.size());
+        return found;
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        try {
+            long expected = Math.max(minExpectedInsertions, customerRepository.count() * GROWTH_HEADROOM);
+            BloomFilter[] next = new BloomFilter[FIELDS.length];
+            for (UniqueField field : FIELDS) {
+                next[field.ordinal()] = BloomFilter.create(expected, falsePositiveRate);
+            }
+            building = next;
+
+            long rows = 0;
+            long cursor = Long.MIN_VALUE;
+            while (true) {
+                List<CustomerSearchRow> page = customerRepository.findSearchRows(cursor, Long.MAX_VALUE, Limit.of(pageSize));
+                for (CustomerSearchRow row : page) {
+                    addTo(next, new String[]{row.phone(), row.email(), row.pan(), row.aadhaar()});
+                }
+                rows += page.size();
+                if (page.size() < pageSize) {
+                    break;
+                }
+                cursor = page.get(page.size() - 1).customerId();
+            }
+            live = next;
+            log.info("Uniqueness filters built: {} customers, {} KB per field, {} hashes, in {} ms",
+                    rows, next[0].sizeInBytes() / 1024, next[0].hashCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Uniqueness filter build failed, checks stay on the previous filters", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UniqueField field : FIELDS) {
+            int i = field.ordinal();
+            FunctionCounter.builder("customer.uniqueness.checks", filtered, counts -> counts.get(i))
+                    .description("Uniqueness checks by whether the Bloom filter answered or the database was asked")
+                    .tags("field", field.field(), "result", "filtered").register(registry);
+            FunctionCounter.builder("customer.uniqueness.checks", queried, counts -> counts.get(i))
+                    .description("Uniqueness checks by whether the Bloom filter answered or the database was asked")
+                    .tags("field", field.field(), "result", "queried").register(registry);
+            FunctionCounter.builder("customer.uniqueness.false.positives", falsePositives, counts -> counts.get(i))
+                    .description("Database checks the filter could not rule out that found nothing")
+                    .tag("field", field.field()).register(registry);
+            Gauge.builder("customer.uniqueness.filter.fpp", this, filter -> filter.estimatedFalsePositiveRate(i))
+                    .description("Estimated false-positive rate from the share of bits set")
+                    .tag("field", field.field()).register(registry);
+        }
+        Gauge.builder("customer.uniqueness.filter.size", this, CustomerUniquenessFilter::sizeInBytes)
+                .description("Memory held by the live filters").baseUnit("bytes").register(registry);
+    }
+
+    private double estimatedFalsePositiveRate(int field) {
+        BloomFilter[] filters = live;
+        return filters != null ? filters[field].estimatedFalsePositiveRate() : Double.NaN;
+    }
+
+    private double sizeInBytes() {
+        BloomFilter[] filters = live;
+        long bytes = 0;
+        if (filters != null) {
+            for (BloomFilter filter : filters) {
+                bytes += filter.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintenance.shutdownNow();
+    }
+}
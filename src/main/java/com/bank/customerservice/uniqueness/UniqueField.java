@@ -0,0 +1,29 @@
+package com.bank.customerservice.uniqueness;
+
+import com.bank.customerservice.entity.Customer;
+
+import java.util.function.Function;
+
+// Customer columns with a unique constraint that callers check before registering
+public enum UniqueField {
+    PHONE("phone", Customer::getPhone),
+    EMAIL("email", Customer::getEmail),
+    PAN("pan", Customer::getPan),
+    AADHAAR("aadhaar", Customer::getAadhaar);
+
+    private final String field;
+    private final Function<Customer, String> value;
+
+    UniqueField(String field, Function<Customer, String> value) {
+        this.field = field;
+        this.value = value;
+    }
+
+    public String field() {
+        return field;
+    }
+
+    public String valueOf(Customer customer) {
+        return value.apply(customer);
+    }
+}
@@ -0,0 +1,30 @@
+package com.bank.customerservice.util;
+
+import com.bank.customerservice.exception.PreconditionFailedException;
+
+// Customer ETags are the quoted @Version value, e.g. "3"
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match -> expected version; null when the header is absent or "*" (no precondition)
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("Weak ETags cannot be used with If-Match");
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.customerservice.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Lets only a fraction of requests emit per-request debug output (customer.logging.debug-sample-rate)
+@Component
+public class LogSampler {
+
+    private final double sampleRate;
+
+    public LogSampler(@Value("${customer.logging.debug-sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
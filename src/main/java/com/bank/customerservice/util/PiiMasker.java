@@ -0,0 +1,39 @@
+package com.bank.customerservice.util;
+
+// Masks PII before it reaches a log line - only the last few characters stay readable
+public final class PiiMasker {
+
+    private PiiMasker() {
+    }
+
+    public static String maskAadhaar(String aadhaar) {
+        return keepLast(aadhaar, 4);
+    }
+
+    public static String maskPan(String pan) {
+        return keepLast(pan, 4);
+    }
+
+    public static String maskPhone(String phone) {
+        return keepLast(phone, 4);
+    }
+
+    public static String maskEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        if (at <= 1) {
+            return keepLast(email, 0);
+        }
+        return email.charAt(0) + "***" + email.substring(at);
+    }
+
+    private static String keepLast(String value, int visible) {
+        if (value == null) {
+            return null;
+        }
+        int masked = Math.max(0, value.length() - visible);
+        return "*".repeat(masked) + value.substring(masked);
+    }
+}
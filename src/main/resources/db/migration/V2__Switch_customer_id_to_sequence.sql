@@ -0,0 +1,12 @@
+-- Switch customer_id from IDENTITY to a pooled sequence so Hibernate can batch inserts.
+-- INCREMENT BY must match allocationSize on Customer.customerId; Hibernate treats each
+-- value as the top of a block of 50, so start a full block above the current max id.
+ALTER TABLE CUSTOMERS MODIFY customer_id DROP IDENTITY;
+
+DECLARE
+    v_start NUMBER;
+BEGIN
+    SELECT NVL(MAX(customer_id), 0) + 50 INTO v_start FROM CUSTOMERS;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE CUSTOMERS_SEQ START WITH ' || v_start || ' INCREMENT BY 50';
+END;
+/
@@ -0,0 +1,27 @@
+-- Give the inline UNIQUE constraints from V1 stable names so a violation can be
+-- translated into a 409 that names the conflicting field (uk_customers_user_id is already named).
+DECLARE
+    PROCEDURE rename_unique(p_column IN VARCHAR2, p_name IN VARCHAR2) IS
+        v_current user_constraints.constraint_name%TYPE;
+    BEGIN
+        SELECT uc.constraint_name
+          INTO v_current
+          FROM user_constraints uc
+          JOIN user_cons_columns ucc
+            ON ucc.constraint_name = uc.constraint_name
+           AND ucc.table_name = uc.table_name
+         WHERE uc.table_name = 'CUSTOMERS'
+           AND uc.constraint_type = 'U'
+           AND ucc.column_name = p_column;
+
+        IF v_current <> p_name THEN
+            EXECUTE IMMEDIATE 'ALTER TABLE CUSTOMERS RENAME CONSTRAINT ' || v_current || ' TO ' || p_name;
+        END IF;
+    END;
+BEGIN
+    rename_unique('PHONE', 'UK_CUSTOMERS_PHONE');
+    rename_unique('EMAIL', 'UK_CUSTOMERS_EMAIL');
+    rename_unique('PAN', 'UK_CUSTOMERS_PAN');
+    rename_unique('AADHAAR', 'UK_CUSTOMERS_AADHAAR');
+END;
+/
@@ -0,0 +1,19 @@
+-- Transactional outbox: events are written in the same transaction as the customer change
+-- and published to Kafka afterwards by OutboxRelay.
+CREATE SEQUENCE CUSTOMER_OUTBOX_SEQ START WITH 50 INCREMENT BY 50;
+
+CREATE TABLE CUSTOMER_OUTBOX (
+    id NUMBER(19) PRIMARY KEY,
+    aggregate_id NUMBER(19) NOT NULL,
+    event_type VARCHAR2(100) NOT NULL,
+    topic VARCHAR2(200) NOT NULL,
+    content_type VARCHAR2(100) NOT NULL,
+    payload BLOB NOT NULL,
+    status VARCHAR2(20) DEFAULT 'PENDING' NOT NULL,
+    attempts NUMBER(10) DEFAULT 0 NOT NULL,
+    last_error VARCHAR2(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+
+CREATE INDEX idx_customer_outbox_status_id ON CUSTOMER_OUTBOX (status, id);
@@ -0,0 +1,2 @@
+-- Schema version of the encoded payload, sent to Kafka as the schema-version header
+ALTER TABLE CUSTOMER_OUTBOX ADD schema_version NUMBER(10) DEFAULT 1 NOT NULL;
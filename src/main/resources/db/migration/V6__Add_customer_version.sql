@@ -0,0 +1,2 @@
+-- Optimistic locking column for Customer (@Version); existing rows start at 0
+ALTER TABLE CUSTOMERS ADD version NUMBER(19) DEFAULT 0 NOT NULL;
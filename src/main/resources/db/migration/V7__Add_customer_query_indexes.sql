@@ -0,0 +1,17 @@
+-- Composite indexes matched to the repository queries in CustomerRepository.
+
+-- Admin listing filtered by status: equality on kyc_status, then an ordered range scan
+-- on customer_id for the keyset cursor. registered_at rides along so a date filter
+-- is evaluated in the index before any table access.
+CREATE INDEX idx_customers_status_id ON CUSTOMERS (kyc_status, customer_id, registered_at);
+
+-- Listing filtered by registration window only.
+CREATE INDEX idx_customers_registered_id ON CUSTOMERS (registered_at, customer_id);
+
+-- userId -> customerId resolution (single and batch) answered from the index alone.
+-- The unique constraint on user_id is re-pointed at the wider index so the table
+-- doesn't carry two indexes leading on user_id (it has to be non-unique: Oracle only
+-- enforces a constraint through a wider index when the index itself is non-unique).
+CREATE INDEX idx_customers_user_id_cust ON CUSTOMERS (user_id, customer_id);
+ALTER TABLE CUSTOMERS DROP CONSTRAINT uk_customers_user_id DROP INDEX;
+ALTER TABLE CUSTOMERS ADD CONSTRAINT uk_customers_user_id UNIQUE (user_id) USING INDEX idx_customers_user_id_cust;
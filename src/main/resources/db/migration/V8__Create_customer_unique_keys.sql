@@ -0,0 +1,10 @@
+-- Global unique-key directory for sharded deployments (customer.sharding.enabled=true).
+-- Only the copy on shard 0 is used; CUSTOMERS' own unique constraints cover unsharded runs.
+-- One row per claimed userId/phone/email/PAN/Aadhaar, pointing at the shard that owns the customer.
+CREATE TABLE CUSTOMER_UNIQUE_KEYS (
+    key_type VARCHAR2(16) NOT NULL,
+    key_value VARCHAR2(100) NOT NULL,
+    shard_id NUMBER(5) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_customer_unique_keys PRIMARY KEY (key_type, key_value)
+);
@@ -0,0 +1,52 @@
+package com.bank.customerservice;
+
+import com.bank.customerservice.dto.CustomerRegistrationRequest;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+// Shared test data - same JWT secret as application.yml
+public final class TestFixtures {
+
+    public static final String JWT_SECRET = "bXlfc3VwZXJfc2VjdXJlX3Rlc3Rfa2V5XzEyMzQ1Njc4OTA=";
+
+    private TestFixtures() {
+    }
+
+    // Every unique field is derived from n, so distinct n never collide
+    public static CustomerRegistrationRequest registration(long n) {
+        return CustomerRegistrationRequest.builder()
+                .fullName("Customer " + n)
+                .phone(String.format("9%09d", n))
+                .email("customer" + n + "@example.com")
+                .dob(LocalDate.of(1990, 1, 1))
+                .address("12 MG Road, Bengaluru")
+                .pan(pan(n))
+                .aadhaar(String.format("%012d", 100_000_000_000L + n))
+                .build();
+    }
+
+    public static String pan(long n) {
+        char[] letters = new char[5];
+        long high = n / 10_000;
+        for (int i = letters.length - 1; i >= 0; i--) {
+            letters[i] = (char) ('A' + high % 26);
+            high /= 26;
+        }
+        return new String(letters) + String.format("%04dF", n % 10_000);
+    }
+
+    public static String bearer(long userId, String role) {
+        return "Bearer " + Jwts.builder()
+                .setSubject(Long.toString(userId))
+                .claim("role", role)
+                .claim("username", "test-" + userId)
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000L))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.customerservice.cache;
+
+import com.bank.customerservice.dto.CustomerResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A load that read the row before a write committed must not repopulate the cache after the
+// write's eviction, and a slower load must not replace a newer version of the row.
+class CustomerCacheTest {
+
+    private static final long CUSTOMER_ID = 7L;
+    private static final long USER_ID = 70L;
+
+    private final CustomerCache cache = new CustomerCache(100, Duration.ofMinutes(5));
+
+    @Test
+    void putIsSkippedWhenTheKeyWasWrittenAfterTheRead() {
+        long readStamp = cache.writeStamp();
+        cache.evict(CUSTOMER_ID); // the write commits while the load is still running
+
+        CustomerCacheEntry returned = cache.put(USER_ID, response(1L), readStamp);
+
+        assertThat(returned.response().getVersion()).isEqualTo(1L);
+        assertThat(cache.get(CUSTOMER_ID)).isNull();
+    }
+
+    @Test
+    void putAfterTheWriteIsCached() {
+        cache.evict(CUSTOMER_ID);
+        long readStamp = cache.writeStamp();
+
+        cache.put(USER_ID, response(2L), readStamp);
+
+        assertThat(cache.get(CUSTOMER_ID).response().getVersion()).isEqualTo(2L);
+        assertThat(cache.getCustomerIdByUserId(USER_ID)).isEqualTo(CUSTOMER_ID);
+    }
+
+    @Test
+    void olderVersionDoesNotReplaceNewerEntry() {
+        long readStamp = cache.writeStamp();
+        cache.put(USER_ID, response(3L), readStamp);
+
+        cache.put(USER_ID, response(2L), readStamp);
+
+        assertThat(cache.get(CUSTOMER_ID).response().getVersion()).isEqualTo(3L);
+    }
+
+    private static CustomerResponse response(long version) {
+        return CustomerResponse.builder().customerId(CUSTOMER_ID).version(version).build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.customerservice.controller;
+
+import com.bank.customerservice.TestFixtures;
+import com.bank.customerservice.dto.BulkRegistrationItem;
+import com.bank.customerservice.dto.BulkRegistrationResponse;
+import com.bank.customerservice.dto.BulkRegistrationResult;
+import com.bank.customerservice.dto.BulkRegistrationStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The JSON-array upload is read element by element: max-rows stops the reading, a row that doesn't bind
+// fails alone, and broken JSON fails its row and ends the upload without undoing the rows before it.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-registration;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "customer.bulk.max-rows=3"})
+@ActiveProfiles("test")
+class CustomerBulkRegistrationTest {
+
+    private static final String URL = "/api/customers/admin/bulk-register";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void rowsPastMaxRowsAreNotRead() throws Exception {
+        // Everything after the third element is unparseable - reading it would fail the row
+        String body = "[" + rows(80_001, 3) + ", " + row(80_004) + ", {not json";
+
+        BulkRegistrationResponse response = post(body).getBody();
+
+        assertThat(response.isTruncated()).isTrue();
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getCreated()).isEqualTo(3);
+    }
+
+    @Test
+    void rowThatDoesNotBindFailsAlone() throws Exception {
+        String body = "[" + row(80_011) + ", {\"userId\": \"not-a-number\", \"customer\": {}}, " + row(80_012) + "]";
+
+        BulkRegistrationResponse response = post(body).getBody();
+
+        assertThat(response.isTruncated()).isFalse();
+        assertThat(response.getResults()).extracting(BulkRegistrationResult::getStatus).containsExactly(
+                BulkRegistrationStatus.CREATED, BulkRegistrationStatus.FAILED, BulkRegistrationStatus.CREATED);
+    }
+
+    @Test
+    void brokenJsonEndsTheUploadAfterTheRowsBeforeIt() throws Exception {
+        String body = "[" + row(80_021) + ", {\"userId\": 80022,, ";
+
+        BulkRegistrationResponse response = post(body).getBody();
+
+        assertThat(response.getResults()).extracting(BulkRegistrationResult::getStatus).containsExactly(
+                BulkRegistrationStatus.CREATED, BulkRegistrationStatus.FAILED);
+        assertThat(response.getResults().get(1).getMessage()).startsWith("Malformed JSON at index 1");
+    }
+
+    @Test
+    void bodyThatIsNotAnArrayIsRejected() {
+        ResponseEntity<String> response = rest.exchange(URL, HttpMethod.POST,
+                request("{\"userId\": 1}"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<BulkRegistrationResponse> post(String body) {
+        ResponseEntity<BulkRegistrationResponse> response = rest.postForEntity(URL, request(body), BulkRegistrationResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response;
+    }
+
+    private static HttpEntity<String> request(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.AUTHORIZATION, TestFixtures.bearer(1L, "ADMIN"));
+        return new HttpEntity<>(body, headers);
+    }
+
+    private String rows(long first, int count) throws Exception {
+        List<String> rows = new ArrayList<>();
+        for (long n = first; n < first + count; n++) {
+            rows.add(row(n));
+        }
+        return String.join(", ", rows);
+    }
+
+    private String row(long n) throws Exception {
+        return objectMapper.writeValueAsString(new BulkRegistrationItem(n, TestFixtures.registration(n)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.customerservice.controller;
+
+import com.bank.customerservice.TestFixtures;
+import com.bank.customerservice.dto.CustomerRegistrationRequest;
+import com.bank.customerservice.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Registration relies on the unique constraints alone (no exists pre-check), so parallel duplicates
+// must still end with one customer and a 409 naming the field for everyone else.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class CustomerRegistrationConcurrencyTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void parallelRegistrationsForOneUserCreateOneCustomer() throws Exception {
+        long userId = 7_001L;
+        // Different personal details per call, so only the one-customer-per-user constraint can clash
+        List<ResponseEntity<Map>> responses = registerInParallel(
+                i -> post(userId, TestFixtures.registration(1_000 + i)));
+
+        assertOneCreatedRestConflictOn(responses, "userId");
+        assertThat(customerRepository.findByUserId(userId)).isPresent();
+    }
+
+    @Test
+    void parallelRegistrationsWithOneAadhaarCreateOneCustomer() throws Exception {
+        List<ResponseEntity<Map>> responses = registerInParallel(i -> {
+            CustomerRegistrationRequest request = TestFixtures.registration(2_000 + i);
+            request.setAadhaar("555566667777");
+            return post(8_000L + i, request);
+        });
+
+        assertOneCreatedRestConflictOn(responses, "aadhaar");
+        assertThat(customerRepository.findExistingAadhaars(List.of("555566667777"))).hasSize(1);
+    }
+
+    private List<ResponseEntity<Map>> registerInParallel(IntFunction<HttpEntity<CustomerRegistrationRequest>> requests)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ResponseEntity<Map>>> calls = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                HttpEntity<CustomerRegistrationRequest> request = requests.apply(i);
+                calls.add(pool.submit(() -> {
+                    start.await();
+                    return rest.postForEntity("/api/customers/register", request, Map.class);
+                }));
+            }
+            start.countDown();
+            List<ResponseEntity<Map>> responses = new ArrayList<>();
+            for (Future<ResponseEntity<Map>> call : calls) {
+                responses.add(call.get());
+            }
+            return responses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertOneCreatedRestConflictOn(List<ResponseEntity<Map>> responses, String field) {
+        assertThat(responses).filteredOn(r -> r.getStatusCode() == HttpStatus.OK).hasSize(1);
+        List<ResponseEntity<Map>> conflicts = responses.stream()
+                .filter(r -> r.getStatusCode() == HttpStatus.CONFLICT)
+                .toList();
+        assertThat(conflicts).hasSize(CALLERS - 1);
+        for (ResponseEntity<Map> conflict : conflicts) {
+            Map<String, Object> error = (Map<String, Object>) conflict.getBody().get("error");
+            assertThat(error).containsEntry("code", "CONFLICT").containsEntry("field", field);
+        }
+    }
+
+    private static HttpEntity<CustomerRegistrationRequest> post(long userId, CustomerRegistrationRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, TestFixtures.bearer(userId, "CUSTOMER"));
+        return new HttpEntity<>(request, headers);
+    }
+}
@@ -0,0 +1,247 @@
+package com.bank.customerservice.datasource;
+
+import com.bank.customerservice.TestFixtures;
+import com.bank.customerservice.dto.CustomerResponse;
+import com.bank.customerservice.exception.ResourceNotFoundException;
+import com.bank.customerservice.service.CustomerService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Primary and replica are two separate in-memory H2 databases with nothing replicating between them,
+// so where a read went is visible from what it finds: a row inserted only into the replica is found
+// by replica reads, a row written through the service exists only on the primary.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "customer.datasource.routing.enabled=true",
+        "customer.datasource.routing.replicas[0].url=" + ReadReplicaRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "customer.datasource.routing.replicas[0].maximum-pool-size=2",
+        "customer.datasource.routing.replica-connection-timeout=PT0.25S",
+        "customer.datasource.routing.health-check-interval-ms=3600000",
+        "customer.datasource.routing.read-your-writes-window=PT1M",
+        "customer.cache.ttl=PT0S",
+        "customer.search.enabled=false",
+        "customer.uniqueness.filter.enabled=false",
+        "customer.outbox.relay.interval-ms=3600000"})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=Oracle";
+
+    // Well above the ids the primary's sequence hands out during the test
+    private static final AtomicLong REPLICA_ONLY_IDS = new AtomicLong(900_000);
+    private static final AtomicLong REGISTRATIONS = new AtomicLong(5_000);
+
+    // Holds the replica database open; SHUTDOWN through it takes the replica down. Opened before the
+    // context starts: a pool that can't connect at startup backs off for seconds before retrying.
+    private static Connection replica = openReplica();
+    private static boolean replicaHasSchema;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void copySchema() throws SQLException {
+        if (!replicaHasSchema) {
+            copySchemaToReplica();
+            replicaHasSchema = true;
+        }
+    }
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionReadsFromReplica() throws SQLException {
+        long customerId = insertOnReplicaOnly();
+
+        assertThat(customerService.getStatus(customerId).getCustomerId()).isEqualTo(customerId);
+    }
+
+    @Test
+    void writeGoesToPrimary() throws SQLException {
+        CustomerResponse registered = register();
+
+        try (Connection primary = primaryDataSource.getConnection()) {
+            assertThat(exists(primary, registered.getCustomerId())).isTrue();
+        }
+        assertThat(exists(replica, registered.getCustomerId())).isFalse();
+    }
+
+    @Test
+    void writtenCustomerIsReadFromPrimaryWithinWindow() {
+        CustomerResponse registered = register();
+
+        // Only the primary has the row, so this finds it only if the read was pinned there
+        assertThat(customerService.getStatus(registered.getCustomerId()).getCustomerId())
+                .isEqualTo(registered.getCustomerId());
+    }
+
+    @Test
+    void pinCookieSendsTheWritersNextRequestToPrimary() throws SQLException {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+        register();
+        Cookie pin = writeResponse.getCookie(ReadYourWrites.PIN_COOKIE);
+        assertThat(pin).isNotNull();
+        assertThat(Long.parseLong(pin.getValue())).isGreaterThan(System.currentTimeMillis());
+
+        // The next request may reach an instance with no memory of the write - the cookie alone pins it
+        long replicaOnly = insertOnReplicaOnly();
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setCookies(new Cookie(ReadYourWrites.PIN_COOKIE, pin.getValue()));
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(nextRequest, new MockHttpServletResponse()));
+        assertThatThrownBy(() -> customerService.getStatus(replicaOnly))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        MockHttpServletRequest expired = new MockHttpServletRequest();
+        expired.setCookies(new Cookie(ReadYourWrites.PIN_COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(expired, new MockHttpServletResponse()));
+        assertThat(customerService.getStatus(replicaOnly).getCustomerId()).isEqualTo(replicaOnly);
+    }
+
+    @Test
+    void failedReplicaCheckoutFallsBackToPrimaryUntilHealthCheckPasses() throws Exception {
+        try (Statement statement = replica.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        // Past Hikari's 500 ms alive-bypass window, so the pooled connections are validated and
+        // replaced - and the replacement fails because the database is gone
+        Thread.sleep(600);
+        double fallbacksBefore = reads("primary_fallback");
+
+        // Inserted behind the service's back, so nothing pins it: only a fallback to the primary finds it
+        long unpinned = insertOnPrimaryOnly();
+        assertThat(customerService.getStatus(unpinned).getCustomerId()).isEqualTo(unpinned);
+        assertThat(reads("primary_fallback")).isGreaterThan(fallbacksBefore);
+        assertThat(replicaUp()).isZero();
+
+        replica = openReplica();
+        copySchemaToReplica();
+        // What the scheduled check does, without waiting for its interval
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (replicaUp() == 0 && System.currentTimeMillis() < deadline) {
+            replicaDataSource.checkReplicas();
+            Thread.sleep(100);
+        }
+        assertThat(replicaUp()).isEqualTo(1.0);
+        long replicaOnly = insertOnReplicaOnly();
+        assertThat(customerService.getStatus(replicaOnly).getCustomerId()).isEqualTo(replicaOnly);
+    }
+
+    private CustomerResponse register() {
+        long n = REGISTRATIONS.incrementAndGet();
+        return customerService.register(TestFixtures.registration(n), 10_000L + n);
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("customer.datasource.reads").tag("target", target).counter().count();
+    }
+
+    private double replicaUp() {
+        return meterRegistry.get("customer.datasource.replica.up").tag("pool", "replica-0").gauge().value();
+    }
+
+    private static Connection openReplica() {
+        try {
+            return DriverManager.getConnection(REPLICA_URL, "sa", "");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot create the replica database", e);
+        }
+    }
+
+    private long insertOnReplicaOnly() throws SQLException {
+        return insertCustomer(replica);
+    }
+
+    private long insertOnPrimaryOnly() throws SQLException {
+        try (Connection connection = primaryDataSource.getConnection()) {
+            return insertCustomer(connection);
+        }
+    }
+
+    private static long insertCustomer(Connection connection) throws SQLException {
+        long id = REPLICA_ONLY_IDS.incrementAndGet();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO customers (customer_id, user_id, "
+                + "full_name, phone, email, address, pan, aadhaar, kyc_status, registered_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', ?, 0)")) {
+            insert.setLong(1, id);
+            insert.setLong(2, id);
+            insert.setString(3, "Direct " + id);
+            insert.setString(4, String.format("8%09d", id));
+            insert.setString(5, "direct" + id + "@example.com");
+            insert.setString(6, "1 Test Street");
+            insert.setString(7, TestFixtures.pan(id));
+            insert.setString(8, String.format("%012d", id));
+            insert.setTimestamp(9, new Timestamp(System.currentTimeMillis()));
+            insert.executeUpdate();
+        }
+        return id;
+    }
+
+    private static boolean exists(Connection connection, long customerId) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT COUNT(*) FROM customers WHERE customer_id = ?")) {
+            query.setLong(1, customerId);
+            try (ResultSet rows = query.executeQuery()) {
+                rows.next();
+                return rows.getLong(1) == 1;
+            }
+        }
+    }
+
+    // Hibernate generated the schema on the primary only
+    private void copySchemaToReplica() throws SQLException {
+        List<String> ddl = new ArrayList<>();
+        try (Connection primary = primaryDataSource.getConnection();
+             Statement statement = primary.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) {
+                ddl.add(script.getString(1));
+            }
+        }
+        try (Statement statement = replica.createStatement()) {
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
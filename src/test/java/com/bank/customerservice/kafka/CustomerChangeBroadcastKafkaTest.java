@@ -0,0 +1,136 @@
+package com.bank.customerservice.kafka;
+
+import com.bank.customerservice.TestFixtures;
+import com.bank.customerservice.cache.CustomerCache;
+import com.bank.customerservice.dto.CustomerRegistrationRequest;
+import com.bank.customerservice.dto.CustomerResponse;
+import com.bank.customerservice.dto.KycStatusUpdateRequest;
+import com.bank.customerservice.entity.KycStatus;
+import com.bank.customerservice.events.CustomerChangedEvent;
+import com.bank.customerservice.service.CustomerService;
+import com.bank.customerservice.uniqueness.BloomFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Writes here are published for the other instances, and a write published by another instance
+// evicts the customer from this instance's cache.
+// Own database: this context stays cached, and its OutboxRelay must not drain other tests' outbox
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:customer-changes;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "customer.change-broadcast.enabled=true"})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 2, topics = CustomerChangeBroadcastKafkaTest.TOPIC)
+class CustomerChangeBroadcastKafkaTest {
+
+    static final String TOPIC = "customer-changes";
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private CustomerChangeBroadcaster broadcaster;
+
+    @Autowired
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry listeners;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Consumer<String, byte[]> consumer;
+
+    @BeforeEach
+    void subscribe() {
+        // The listener starts at the log end, so it has to own its partitions before anything is sent
+        ContainerTestUtils.waitForAssignment(listeners.getListenerContainer("customerChangeListener"),
+                broker.getPartitionsPerTopic());
+        Map<String, Object> props = KafkaTestUtils.consumerProps("customer-changes-test-" + UUID.randomUUID(), "false", broker);
+        consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer())
+                .createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, true, TOPIC);
+    }
+
+    @AfterEach
+    void close() {
+        consumer.close();
+    }
+
+    @Test
+    void committedWritesArePublishedForOtherInstances() throws Exception {
+        CustomerRegistrationRequest registration = TestFixtures.registration(60_001);
+        CustomerResponse customer = customerService.register(registration, 60_001L);
+        customerService.updateKycStatus(customer.getCustomerId(),
+                new KycStatusUpdateRequest(KycStatus.VERIFIED, "verified"));
+
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        await().atMost(Duration.ofSeconds(30)).until(() -> {
+            KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500)).forEach(records::add);
+            return records.size() >= 2;
+        });
+
+        // The registration's uniqueness keys (unkeyed) and the KYC update's eviction (keyed by customerId),
+        // possibly on different partitions
+        assertThat(records).hasSize(2);
+        ConsumerRecord<String, byte[]> keysRecord = records.get(0).key() == null ? records.get(0) : records.get(1);
+        ConsumerRecord<String, byte[]> evictionRecord = records.get(0).key() == null ? records.get(1) : records.get(0);
+
+        CustomerChangedEvent keys = objectMapper.readValue(keysRecord.value(), CustomerChangedEvent.class);
+        assertThat(keys.getOrigin()).isEqualTo(broadcaster.instanceId());
+        assertThat(keys.getCustomerId()).isNull();
+        assertThat(keys.getUniqueKeys().get("phone")).containsExactly(BloomFilter.key(registration.getPhone()));
+        assertThat(keys.getUniqueKeys().get("pan")).containsExactly(BloomFilter.key(registration.getPan()));
+
+        assertThat(evictionRecord.key()).isEqualTo(customer.getCustomerId().toString());
+        CustomerChangedEvent eviction = objectMapper.readValue(evictionRecord.value(), CustomerChangedEvent.class);
+        assertThat(eviction.getCustomerId()).isEqualTo(customer.getCustomerId());
+        assertThat(eviction.getOrigin()).isEqualTo(broadcaster.instanceId());
+    }
+
+    @Test
+    void changeFromAnotherInstanceEvictsTheCachedCustomer() throws Exception {
+        CustomerResponse customer = customerService.register(TestFixtures.registration(60_002), 60_002L);
+        customerService.getById(customer.getCustomerId());
+        assertThat(customerCache.get(customer.getCustomerId())).isNotNull();
+
+        kafkaTemplate.send(new ProducerRecord<>(TOPIC, customer.getCustomerId().toString(),
+                objectMapper.writeValueAsBytes(new CustomerChangedEvent("other-instance", customer.getCustomerId(), null))));
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertThat(customerCache.get(customer.getCustomerId())).isNull());
+    }
+}
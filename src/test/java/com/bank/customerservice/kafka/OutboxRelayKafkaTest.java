@@ -0,0 +1,153 @@
+package com.bank.customerservice.kafka;
+
+import com.bank.customerservice.TestFixtures;
+import com.bank.customerservice.dto.CustomerResponse;
+import com.bank.customerservice.dto.KycStatusUpdateRequest;
+import com.bank.customerservice.entity.KycStatus;
+import com.bank.customerservice.entity.OutboxStatus;
+import com.bank.customerservice.events.AccountCreationEvent;
+import com.bank.customerservice.events.codec.AccountCreationEventCodec;
+import com.bank.customerservice.repository.OutboxEventRepository;
+import com.bank.customerservice.service.CustomerService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Outbox rows written with the customer change reach a real (in-process) broker through OutboxRelay:
+// keyed by customerId, with the codec headers, marked PUBLISHED once acked - and never for a rollback.
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "customer.outbox.relay.interval-ms=100",
+        "customer.outbox.relay.batch-size=20"})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 3, topics = KafkaEventProducer.ACCOUNT_CREATION_TOPIC)
+class OutboxRelayKafkaTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private AccountCreationEventCodec codec;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Consumer<String, byte[]> consumer;
+
+    @BeforeEach
+    void subscribe() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("outbox-relay-test-" + UUID.randomUUID(), "false", broker);
+        consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer())
+                .createConsumer();
+        // From the log end: each test sees only what is published after it subscribed
+        broker.consumeFromAnEmbeddedTopic(consumer, true, KafkaEventProducer.ACCOUNT_CREATION_TOPIC);
+    }
+
+    @AfterEach
+    void close() {
+        consumer.close();
+    }
+
+    @Test
+    void verifiedKycPublishesAccountCreationKeyedByCustomer() {
+        CustomerResponse customer = customerService.register(TestFixtures.registration(30_001), 30_001L);
+        customerService.updateKycStatus(customer.getCustomerId(),
+                new KycStatusUpdateRequest(KycStatus.VERIFIED, "verified"));
+
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        await().atMost(Duration.ofSeconds(30)).until(() -> {
+            KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500)).forEach(records::add);
+            return !records.isEmpty();
+        });
+
+        assertThat(records).hasSize(1);
+        ConsumerRecord<String, byte[]> record = records.get(0);
+        assertThat(record.key()).isEqualTo(customer.getCustomerId().toString());
+        assertThat(codec.decode(record.value()).getCustomerId()).isEqualTo(customer.getCustomerId());
+        assertThat(header(record, KafkaEventProducer.EVENT_TYPE_HEADER)).isEqualTo(OutboxWriter.ACCOUNT_CREATION_EVENT);
+        assertThat(header(record, KafkaEventProducer.CONTENT_TYPE_HEADER)).isEqualTo(codec.contentType());
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isZero());
+    }
+
+    @Test
+    void backlogLargerThanOneBatchIsDrainedInBatches() {
+        long publishedBefore = outboxRelay.stats().getPublishedTotal();
+        Set<Long> customerIds = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long id = 40_001; id <= 40_050; id++) { // 50 rows, batch size 20
+                outboxWriter.enqueueAccountCreation(id);
+                customerIds.add(id);
+            }
+        });
+
+        Set<Long> received = new HashSet<>();
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            for (ConsumerRecord<String, byte[]> record : KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500))) {
+                AccountCreationEvent event = codec.decode(record.value());
+                assertThat(record.key()).isEqualTo(event.getCustomerId().toString());
+                received.add(event.getCustomerId());
+            }
+            assertThat(received).containsAll(customerIds);
+        });
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isZero());
+        assertThat(outboxRelay.stats().getPublishedTotal() - publishedBefore).isGreaterThanOrEqualTo(50);
+        assertThat(outboxRelay.stats().getBatchesTotal()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void rolledBackChangeLeavesNothingToPublish() {
+        long rowsBefore = outboxEventRepository.count();
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxWriter.enqueueAccountCreation(50_001L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxEventRepository.count()).isEqualTo(rowsBefore);
+        List<Long> published = new ArrayList<>();
+        KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(2))
+                .forEach(record -> published.add(codec.decode(record.value()).getCustomerId()));
+        assertThat(published).doesNotContain(50_001L);
+    }
+
+    private static String header(ConsumerRecord<String, byte[]> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+package com.bank.customerservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.oracle.OracleContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Plan regression for the hot CustomerRepository queries: the Flyway schema on Oracle Free, 100k rows
+// with gathered statistics, and EXPLAIN PLAN for the SQL Hibernate generates for each query.
+// None of them may full-scan CUSTOMERS. Skipped when Docker isn't available.
+@Testcontainers(disabledWithoutDocker = true)
+class CustomerQueryPlanTest {
+
+    private static final int ROWS = 100_000;
+
+    @Container
+    private static final OracleContainer ORACLE = new OracleContainer("gvenzl/oracle-free:23-slim-faststart");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(ORACLE.getJdbcUrl(), ORACLE.getUsername(), ORACLE.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // Skewed like production: most customers verified, a few pending or rejected
+            statement.execute("INSERT INTO CUSTOMERS (customer_id, user_id, full_name, phone, email, dob, address, "
+                    + "pan, aadhaar, kyc_status, registered_at) "
+                    + "SELECT LEVEL, 100000 + LEVEL, 'Customer ' || LEVEL, '9' || LPAD(LEVEL, 9, '0'), "
+                    + "'customer' || LEVEL || '@example.com', DATE '1990-01-01', 'Address ' || LEVEL, "
+                    + "'PAN' || LPAD(LEVEL, 7, '0'), LPAD(LEVEL, 12, '0'), "
+                    + "CASE WHEN MOD(LEVEL, 50) = 0 THEN 'REJECTED' WHEN MOD(LEVEL, 10) = 0 THEN 'PENDING' "
+                    + "ELSE 'VERIFIED' END, TIMESTAMP '2024-01-01 00:00:00' + NUMTODSINTERVAL(LEVEL, 'MINUTE') "
+                    + "FROM dual CONNECT BY LEVEL <= " + ROWS);
+            statement.execute("BEGIN DBMS_STATS.GATHER_TABLE_STATS(USER, 'CUSTOMERS'); END;");
+        }
+    }
+
+    // Hibernate's Oracle SQL for each repository method, with the entity's column list
+    static Stream<String> hotQueries() {
+        String columns = "c.customer_id, c.aadhaar, c.address, c.dob, c.email, c.full_name, c.kyc_status, "
+                + "c.pan, c.phone, c.registered_at, c.user_id, c.version";
+        return Stream.of(
+                // findById
+                "SELECT " + columns + " FROM customers c WHERE c.customer_id = :id",
+                // findStatusById
+                "SELECT c.customer_id, c.user_id, c.kyc_status, c.version FROM customers c WHERE c.customer_id = :id",
+                // findCustomerIdByUserId, answered from idx_customers_user_id_cust
+                "SELECT c.customer_id FROM customers c WHERE c.user_id = :userId",
+                // findByUserId
+                "SELECT " + columns + " FROM customers c WHERE c.user_id = :userId",
+                // findAllByCustomerIdIn
+                "SELECT " + columns + " FROM customers c WHERE c.customer_id IN (:id1, :id2, :id3)",
+                // findCustomerIdsByUserIds
+                "SELECT c.user_id, c.customer_id FROM customers c WHERE c.user_id IN (:u1, :u2, :u3)",
+                // existsByPhone / Email / Pan / Aadhaar
+                "SELECT c.customer_id FROM customers c WHERE c.phone = :phone FETCH FIRST 1 ROWS ONLY",
+                "SELECT c.customer_id FROM customers c WHERE c.email = :email FETCH FIRST 1 ROWS ONLY",
+                "SELECT c.customer_id FROM customers c WHERE c.pan = :pan FETCH FIRST 1 ROWS ONLY",
+                "SELECT c.customer_id FROM customers c WHERE c.aadhaar = :aadhaar FETCH FIRST 1 ROWS ONLY",
+                // findExistingPhones
+                "SELECT c.phone FROM customers c WHERE c.phone IN (:p1, :p2, :p3)",
+                // findPageAfter: keyset page without a status filter
+                "SELECT " + columns + " FROM customers c WHERE c.customer_id > :afterId "
+                        + "AND (:status IS NULL OR c.kyc_status = :status) "
+                        + "AND (:fromTs IS NULL OR c.registered_at >= :fromTs) "
+                        + "AND (:toTs IS NULL OR c.registered_at < :toTs) "
+                        + "ORDER BY c.customer_id FETCH FIRST :pageSize ROWS ONLY",
+                // findPageByStatusAfter, on idx_customers_status_id
+                "SELECT " + columns + " FROM customers c WHERE c.kyc_status = :status AND c.customer_id > :afterId "
+                        + "AND (:fromTs IS NULL OR c.registered_at >= :fromTs) "
+                        + "AND (:toTs IS NULL OR c.registered_at < :toTs) "
+                        + "ORDER BY c.customer_id FETCH FIRST :pageSize ROWS ONLY",
+                // findSearchRows: one keyset page of an index or filter build
+                "SELECT c.customer_id, c.full_name, c.phone, c.email, c.pan, c.aadhaar FROM customers c "
+                        + "WHERE c.customer_id > :afterId AND c.customer_id <= :toId "
+                        + "ORDER BY c.customer_id FETCH FIRST :pageSize ROWS ONLY");
+    }
+
+    @ParameterizedTest
+    @MethodSource("hotQueries")
+    void hotQueryDoesNotFullScanCustomers(String sql) throws SQLException {
+        List<String> plan = explain(sql);
+
+        assertThat(plan).as("plan of %s", sql).isNotEmpty();
+        assertThat(plan).as("plan of %s", sql).noneMatch(step -> step.equals("TABLE ACCESS FULL CUSTOMERS"));
+    }
+
+    // "OPERATION OPTIONS OBJECT_NAME" per plan step
+    private static List<String> explain(String sql) throws SQLException {
+        String statementId = "plan-" + Integer.toHexString(sql.hashCode());
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM plan_table WHERE statement_id = '" + statementId + "'");
+            statement.execute("EXPLAIN PLAN SET STATEMENT_ID = '" + statementId + "' FOR " + sql);
+            List<String> steps = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery("SELECT operation, options, object_name FROM plan_table "
+                    + "WHERE statement_id = '" + statementId + "' ORDER BY id")) {
+                while (rows.next()) {
+                    steps.add(String.join(" ", nullToEmpty(rows.getString(1)), nullToEmpty(rows.getString(2)),
+                            nullToEmpty(rows.getString(3))).trim());
+                }
+            }
+            return steps;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(ORACLE.getJdbcUrl(), ORACLE.getUsername(), ORACLE.getPassword());
+    }
+}
@@ -0,0 +1,65 @@
+package com.bank.customerservice.shard;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardIdsTest {
+
+    @Test
+    void shardAndSequenceRoundTrip() {
+        long id = ShardIds.encode(5, 123_456L);
+
+        assertThat(ShardIds.shardOf(id)).isEqualTo(5);
+        assertThat(id & ((1L << ShardIds.SHARD_SHIFT) - 1)).isEqualTo(123_456L);
+    }
+
+    @Test
+    void idsWrittenBeforeShardingBelongToShardZero() {
+        assertThat(ShardIds.encode(0, 987_654L)).isEqualTo(987_654L);
+        assertThat(ShardIds.shardOf(987_654L)).isZero();
+    }
+
+    @Test
+    void largestIdStaysExactInJson() {
+        long largest = ShardIds.encode(ShardIds.MAX_SHARDS - 1, (1L << ShardIds.SHARD_SHIFT) - 1);
+
+        assertThat(largest).isLessThan(1L << 53);
+        assertThat(ShardIds.shardOf(largest)).isEqualTo(ShardIds.MAX_SHARDS - 1);
+    }
+
+    @Test
+    void sequenceOutsideItsBitsIsRejected() {
+        assertThatThrownBy(() -> ShardIds.encode(1, 1L << ShardIds.SHARD_SHIFT))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ShardIds.encode(1, -1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void userHashIsStableAndInRange() {
+        // Pinned values: a change here would move existing customers' new rows to another shard
+        assertThat(ShardIds.shardForUser(1L, 4)).isZero();
+        assertThat(ShardIds.shardForUser(42L, 4)).isZero();
+        assertThat(ShardIds.shardForUser(1_000_000L, 4)).isEqualTo(3);
+        int[] perShard = new int[4];
+        for (long userId = 1; userId <= 40_000; userId++) {
+            int shard = ShardIds.shardForUser(userId, 4);
+            assertThat(shard).isBetween(0, 3);
+            perShard[shard]++;
+        }
+        // Sequential user ids spread evenly, within 5% of a quarter each
+        for (int count : perShard) {
+            assertThat(count).isBetween(9_500, 10_500);
+        }
+    }
+
+    @Test
+    void sequenceBlocksAreDisjointAndBelowTheShardBits() {
+        for (int shard = 0; shard < ShardIds.MAX_SHARDS - 1; shard++) {
+            assertThat(ShardIds.sequenceBlockEnd(shard)).isEqualTo(ShardIds.sequenceBlockStart(shard + 1));
+        }
+        assertThat(ShardIds.sequenceBlockEnd(ShardIds.MAX_SHARDS - 1)).isEqualTo(1L << ShardIds.SHARD_SHIFT);
+    }
+}
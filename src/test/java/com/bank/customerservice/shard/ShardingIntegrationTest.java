@@ -0,0 +1,200 @@
+package com.bank.customerservice.shard;
+
+import com.bank.customerservice.TestFixtures;
+import com.bank.customerservice.dto.CustomerRegistrationRequest;
+import com.bank.customerservice.dto.CustomerResponse;
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.exception.ConflictException;
+import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.repository.CustomerSearchRow;
+import com.bank.customerservice.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Three in-memory H2 databases as shards. Hibernate creates the schema on shard 0 only, so the other
+// shards get a copy and every shard's sequences are moved into their own block, as the Flyway
+// strategy in ShardingConfig does on Oracle.
+@SpringBootTest(properties = {
+        "customer.sharding.enabled=true",
+        "customer.sharding.shards[0].url=jdbc:h2:mem:shard-0;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "customer.sharding.shards[1].url=jdbc:h2:mem:shard-1;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "customer.sharding.shards[2].url=jdbc:h2:mem:shard-2;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "customer.cache.ttl=PT0S",
+        "customer.search.enabled=false",
+        "customer.uniqueness.filter.enabled=false",
+        "customer.outbox.relay.interval-ms=3600000"})
+@ActiveProfiles("test")
+class ShardingIntegrationTest {
+
+    private static final int SHARDS = 3;
+    private static final AtomicLong REGISTRATIONS = new AtomicLong(20_000);
+    private static boolean shardsPrepared;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerKeyDirectory keyDirectory;
+
+    @Autowired
+    private ShardedDataSources shardedDataSources;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void prepareShards() {
+        if (shardsPrepared) {
+            return;
+        }
+        JdbcTemplate shard0 = jdbc(0);
+        // V8 - the directory lives on shard 0 and is not an entity, so Hibernate doesn't create it
+        shard0.execute("CREATE TABLE CUSTOMER_UNIQUE_KEYS (key_type VARCHAR2(16) NOT NULL, "
+                + "key_value VARCHAR2(100) NOT NULL, shard_id NUMBER(5) NOT NULL, "
+                + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL, "
+                + "CONSTRAINT pk_customer_unique_keys PRIMARY KEY (key_type, key_value))");
+        List<String> ddl = shard0.queryForList("SCRIPT NODATA", String.class);
+        for (int shard = 1; shard < SHARDS; shard++) {
+            JdbcTemplate jdbc = jdbc(shard);
+            ddl.forEach(jdbc::execute);
+            for (String sequence : List.of("CUSTOMERS_SEQ", "CUSTOMER_OUTBOX_SEQ")) {
+                jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (ShardIds.sequenceBlockStart(shard) + 50));
+            }
+        }
+        shardsPrepared = true;
+    }
+
+    @Test
+    void registrationLandsOnTheShardOfItsUser() {
+        Map<Integer, Integer> perShard = new HashMap<>();
+        for (int i = 0; i < 12; i++) {
+            long userId = nextUserId();
+            CustomerResponse registered = register(userId);
+
+            int shard = ShardIds.shardForUser(userId, SHARDS);
+            perShard.merge(shard, 1, Integer::sum);
+            assertThat(ShardIds.shardOf(registered.getCustomerId())).isEqualTo(shard);
+            for (int other = 0; other < SHARDS; other++) {
+                assertThat(rowsWithId(other, registered.getCustomerId())).isEqualTo(other == shard ? 1 : 0);
+            }
+        }
+        assertThat(perShard).as("12 users should reach every shard").hasSize(SHARDS);
+    }
+
+    @Test
+    void singleShardReadsFindCustomersOnEveryShard() {
+        for (CustomerResponse registered : registerOnEveryShard()) {
+            assertThat(customerService.getStatus(registered.getCustomerId()).getCustomerId())
+                    .isEqualTo(registered.getCustomerId());
+            assertThat(customerRepository.findCustomerIdByUserId(userIdOf(registered)))
+                    .contains(registered.getCustomerId());
+        }
+    }
+
+    @Test
+    void scatterGatherMergesEveryShard() {
+        List<CustomerResponse> registered = registerOnEveryShard();
+        List<Long> allIds = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            allIds.addAll(jdbc(shard).queryForList("SELECT customer_id FROM customers", Long.class));
+        }
+        allIds.sort(null);
+
+        assertThat(customerRepository.count()).isEqualTo(allIds.size());
+        assertThat(customerRepository.findMinCustomerId()).isEqualTo(allIds.get(0));
+        assertThat(customerRepository.findMaxCustomerId()).isEqualTo(allIds.get(allIds.size() - 1));
+        assertThat(customerRepository.findSearchRows(0L, Long.MAX_VALUE, Limit.of(4)))
+                .extracting(CustomerSearchRow::customerId)
+                .containsExactlyElementsOf(allIds.subList(0, 4));
+        List<Long> registeredIds = registered.stream().map(CustomerResponse::getCustomerId).toList();
+        assertThat(customerRepository.findAllByCustomerIdIn(registeredIds))
+                .extracting(Customer::getCustomerId)
+                .containsExactlyInAnyOrderElementsOf(registeredIds);
+    }
+
+    @Test
+    void uniqueValueIsRejectedAcrossShards() {
+        long firstUser = nextUserId();
+        CustomerResponse first = register(firstUser);
+        long secondUser = nextUserId();
+        while (ShardIds.shardForUser(secondUser, SHARDS) == ShardIds.shardForUser(firstUser, SHARDS)) {
+            secondUser = nextUserId();
+        }
+        CustomerRegistrationRequest samePhone = TestFixtures.registration(REGISTRATIONS.incrementAndGet());
+        samePhone.setPhone(first.getPhone());
+        long otherShardUser = secondUser;
+
+        assertThatThrownBy(() -> customerService.register(samePhone, otherShardUser))
+                .isInstanceOfSatisfying(ConflictException.class,
+                        conflict -> assertThat(conflict.getField()).isEqualTo("phone"));
+        // The rejected registration's other keys were not left claimed
+        assertThat(keyDirectory.exists(CustomerKeyDirectory.KeyType.EMAIL, samePhone.getEmail())).isFalse();
+        assertThat(keyDirectory.exists(CustomerKeyDirectory.KeyType.USER_ID, Long.toString(otherShardUser))).isFalse();
+    }
+
+    @Test
+    void reservationIsReleasedWhenTheCustomerTransactionRollsBack() {
+        long n = REGISTRATIONS.incrementAndGet();
+        CustomerRegistrationRequest request = TestFixtures.registration(n);
+        List<CustomerKeyDirectory.Key> keys = CustomerKeyDirectory.keysOf(nextUserId(), request.getPhone(),
+                request.getEmail(), request.getPan(), request.getAadhaar());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            keyDirectory.reserve(keys, 1);
+            assertThat(keyDirectory.exists(CustomerKeyDirectory.KeyType.PAN, request.getPan())).isTrue();
+            status.setRollbackOnly();
+        });
+
+        for (CustomerKeyDirectory.Key key : keys) {
+            assertThat(keyDirectory.exists(key.type(), key.value())).as("%s released", key).isFalse();
+        }
+    }
+
+    private List<CustomerResponse> registerOnEveryShard() {
+        Map<Integer, CustomerResponse> byShard = new HashMap<>();
+        while (byShard.size() < SHARDS) {
+            long userId = nextUserId();
+            byShard.putIfAbsent(ShardIds.shardForUser(userId, SHARDS), register(userId));
+        }
+        return new ArrayList<>(byShard.values());
+    }
+
+    private CustomerResponse register(long userId) {
+        return customerService.register(TestFixtures.registration(REGISTRATIONS.incrementAndGet()), userId);
+    }
+
+    private long userIdOf(CustomerResponse registered) {
+        return customerRepository.findById(registered.getCustomerId()).orElseThrow().getUserId();
+    }
+
+    private static long nextUserId() {
+        return 500_000L + REGISTRATIONS.incrementAndGet();
+    }
+
+    private int rowsWithId(int shard, long customerId) {
+        return jdbc(shard).queryForObject("SELECT COUNT(*) FROM customers WHERE customer_id = ?", Integer.class, customerId);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shardedDataSources.get(shard));
+    }
+}
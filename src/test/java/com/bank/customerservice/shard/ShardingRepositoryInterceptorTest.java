@@ -0,0 +1,34 @@
+package com.bank.customerservice.shard;
+
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardingRepositoryInterceptorTest {
+
+    private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    private final ShardingRepositoryInterceptor interceptor = new ShardingRepositoryInterceptor(
+            beans.getBeanProvider(ShardRouter.class), beans.getBeanProvider(CustomerKeyDirectory.class));
+
+    interface RepositoryWithNewFinder extends CustomerRepository {
+        Optional<Customer> findByPhone(String phone);
+    }
+
+    @Test
+    void everyCustomerRepositoryMethodIsRouted() {
+        assertThatCode(() -> interceptor.checkRoutes(CustomerRepository.class)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void unroutedMethodFailsTheCheck() {
+        assertThatThrownBy(() -> interceptor.checkRoutes(RepositoryWithNewFinder.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("findByPhone");
+    }
+}
@@ -0,0 +1,60 @@
+package com.bank.customerservice.uniqueness;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 200_000;
+    private static final int PROBES = 200_000;
+
+    // Phone-like values, the shortest and most regular the filters hold
+    private static String phone(long n) {
+        return String.format("9%09d", n);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.1, 0.01, 0.001})
+    void neverMissesAnAddedValueAndStaysNearTheConfiguredRate(double rate) {
+        BloomFilter filter = BloomFilter.create(INSERTIONS, rate);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add(phone(i));
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(filter.mightContain(phone(i))).as("added %s", phone(i)).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(phone(INSERTIONS + i))) {
+                falsePositives++;
+            }
+        }
+        double measured = (double) falsePositives / PROBES;
+        // Filled to its design size, the measured rate lands close to p; 1.5x leaves room for sampling noise
+        assertThat(measured).as("measured false-positive rate at p=%s", rate).isLessThan(rate * 1.5);
+        assertThat(filter.estimatedFalsePositiveRate()).isLessThan(rate * 1.5);
+    }
+
+    // Other instances send keys instead of values; a key must land on the same bits as its value
+    @Test
+    void keyAddedByAnotherInstanceMatchesTheValue() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        filter.addKey(BloomFilter.key("customer1@example.com"));
+
+        assertThat(filter.mightContain("customer1@example.com")).isTrue();
+        assertThat(BloomFilter.key("customer1@example.com")).isEqualTo(BloomFilter.key("customer1@example.com"));
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        assertThat(filter.mightContain(phone(1))).isFalse();
+        assertThat(filter.estimatedFalsePositiveRate()).isZero();
+    }
+}
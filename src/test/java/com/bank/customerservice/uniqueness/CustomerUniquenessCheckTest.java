@@ -0,0 +1,115 @@
+package com.bank.customerservice.uniqueness;
+
+import com.bank.customerservice.TestFixtures;
+import com.bank.customerservice.dto.CustomerRegistrationRequest;
+import com.bank.customerservice.dto.UniquenessCheckRequest;
+import com.bank.customerservice.dto.UniquenessCheckResponse;
+import com.bank.customerservice.entity.Customer;
+import com.bank.customerservice.entity.KycStatus;
+import com.bank.customerservice.mapper.CustomerMapper;
+import com.bank.customerservice.repository.CustomerRepository;
+import com.bank.customerservice.service.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// POST /uniqueness-check through the service: the filter answers "free" on its own, a value it holds
+// is confirmed by a query, and keys received from another instance close the gap for values it never saw.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:uniqueness-check;MODE=Oracle;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class CustomerUniquenessCheckTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private CustomerUniquenessFilter uniquenessFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void filtersBuilt() {
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+                meterRegistry.get("customer.uniqueness.filter.size").gauge().value() > 0);
+    }
+
+    @Test
+    void unseenValuesAreFreeWithoutAQuery() {
+        double queriedBefore = checks("phone", "queried");
+        double filteredBefore = checks("phone", "filtered");
+
+        UniquenessCheckResponse response = customerService.checkUniqueness(check(TestFixtures.registration(70_001)));
+
+        assertThat(response.isAllAvailable()).isTrue();
+        assertThat(checks("phone", "filtered") - filteredBefore).isEqualTo(1);
+        assertThat(checks("phone", "queried") - queriedBefore).isZero();
+    }
+
+    @Test
+    void registeredValuesAreTaken() {
+        CustomerRegistrationRequest registration = TestFixtures.registration(70_002);
+        customerService.register(registration, 70_002L);
+        double queriedBefore = checks("email", "queried");
+
+        UniquenessCheckResponse response = customerService.checkUniqueness(check(registration));
+
+        assertThat(response.isAllAvailable()).isFalse();
+        assertThat(response.getAvailable()).containsOnly(
+                Map.entry("phone", false), Map.entry("email", false),
+                Map.entry("pan", false), Map.entry("aadhaar", false));
+        assertThat(checks("email", "queried") - queriedBefore).isEqualTo(1);
+    }
+
+    @Test
+    void keysFromAnotherInstanceMakeItsValuesTaken() {
+        // Inserted behind this instance's back, the way a registration on another instance looks from here
+        CustomerRegistrationRequest registration = TestFixtures.registration(70_003);
+        Customer elsewhere = customerMapper.toEntity(registration);
+        elsewhere.setUserId(70_003L);
+        elsewhere.setKycStatus(KycStatus.PENDING);
+        elsewhere.setRegisteredAt(LocalDateTime.now());
+        customerRepository.saveAndFlush(elsewhere);
+        assertThat(customerService.checkUniqueness(check(registration)).isAllAvailable()).isTrue();
+
+        uniquenessFilter.addRemote(Map.of(
+                "phone", List.of(BloomFilter.key(registration.getPhone())),
+                "pan", List.of(BloomFilter.key(registration.getPan()))));
+
+        UniquenessCheckResponse response = customerService.checkUniqueness(check(registration));
+        assertThat(response.getAvailable()).containsOnly(
+                Map.entry("phone", false), Map.entry("email", true),
+                Map.entry("pan", false), Map.entry("aadhaar", true));
+    }
+
+    private double checks(String field, String result) {
+        return meterRegistry.get("customer.uniqueness.checks")
+                .tags("field", field, "result", result).functionCounter().count();
+    }
+
+    private static UniquenessCheckRequest check(CustomerRegistrationRequest registration) {
+        return UniquenessCheckRequest.builder()
+                .phone(registration.getPhone())
+                .email(registration.getEmail())
+                .pan(registration.getPan())
+                .aadhaar(registration.getAadhaar())
+                .build();
+    }
+}